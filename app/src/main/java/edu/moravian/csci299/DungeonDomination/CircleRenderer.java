@@ -0,0 +1,262 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.graphics.Color;
+import android.opengl.GLES20;
+import android.opengl.GLSurfaceView;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import javax.microedition.khronos.egl.EGLConfig;
+import javax.microedition.khronos.opengles.GL10;
+
+/**
+ * Draws every circle in the game with OpenGL ES 2.0 in a single draw call. Each frame the player,
+ * enemies, and bullets are written as quads into one vertex buffer, and a fragment shader turns
+ * each quad into an outlined circle using its distance from the center. Obstacles are written into
+ * the same buffer as solid quads, marked by a negative radius. Runs on the GL thread.
+ */
+class CircleRenderer implements GLSurfaceView.Renderer {
+
+    /** Position (2), corner (2), radius (1), and color (3) of each vertex */
+    private static final int FLOATS_PER_VERTEX = 8;
+    private static final int VERTICES_PER_CIRCLE = 6;
+    private static final int FLOATS_PER_CIRCLE = FLOATS_PER_VERTEX * VERTICES_PER_CIRCLE;
+
+    /** The corners of the two triangles making up each circle's quad */
+    private static final float[] CORNERS = { -1, -1, 1, -1, 1, 1, -1, -1, 1, 1, -1, 1 };
+
+    private static final String VERTEX_SHADER =
+            "uniform vec2 uScreen;\n" +
+            "attribute vec2 aPosition;\n" +
+            "attribute vec2 aCorner;\n" +
+            "attribute float aRadius;\n" +
+            "attribute vec3 aColor;\n" +
+            "varying vec2 vCorner;\n" +
+            "varying float vRadius;\n" +
+            "varying vec3 vColor;\n" +
+            "void main() {\n" +
+            "    vCorner = aCorner;\n" +
+            "    vRadius = aRadius;\n" +
+            "    vColor = aColor;\n" +
+            "    gl_Position = vec4(aPosition.x / uScreen.x * 2.0 - 1.0, 1.0 - aPosition.y / uScreen.y * 2.0, 0.0, 1.0);\n" +
+            "}\n";
+
+    private static final String FRAGMENT_SHADER =
+            "precision mediump float;\n" +
+            "uniform float uOutline;\n" +
+            "varying vec2 vCorner;\n" +
+            "varying float vRadius;\n" +
+            "varying vec3 vColor;\n" +
+            "void main() {\n" +
+            "    if (vRadius < 0.0) {\n" +
+            "        gl_FragColor = vec4(vColor, 1.0);\n" +
+            "        return;\n" +
+            "    }\n" +
+            "    float distance = length(vCorner) * vRadius;\n" +
+            "    float inside = 1.0 - smoothstep(vRadius - 1.0, vRadius, distance);\n" +
+            "    float fill = 1.0 - smoothstep(vRadius - uOutline - 1.0, vRadius - uOutline, distance);\n" +
+            "    gl_FragColor = vec4(vColor * fill, inside);\n" +
+            "}\n";
+
+    /** The game being drawn and the view showing its HUD, which is told when the HUD changes */
+    private final GameSession session;
+    private volatile HudView hudView;
+
+    /** The color of the player */
+    private final int playerColor;
+
+    /** The vertices written each frame and the GL buffer they are uploaded to */
+    private FloatBuffer vertices;
+    private int buffer, bufferCapacity;
+
+    /** The shader program and where its inputs are */
+    private int program, screenUniform, outlineUniform, positionAttribute, cornerAttribute, radiusAttribute, colorAttribute;
+
+    /**
+     * Create a renderer for a game
+     * @param session the game to draw
+     * @param playerColor the color of the player
+     */
+    CircleRenderer(GameSession session, int playerColor) {
+        this.session = session;
+        this.playerColor = playerColor;
+        ensureCapacity(256);
+    }
+
+    /** Set the view showing the HUD, which is redrawn when the coins, health, or game over status change */
+    void setHudView(HudView hudView) { this.hudView = hudView; }
+
+    @Override
+    public void onSurfaceCreated(GL10 unused, EGLConfig config) {
+        program = link(compile(GLES20.GL_VERTEX_SHADER, VERTEX_SHADER),
+                compile(GLES20.GL_FRAGMENT_SHADER, FRAGMENT_SHADER));
+        screenUniform = GLES20.glGetUniformLocation(program, "uScreen");
+        outlineUniform = GLES20.glGetUniformLocation(program, "uOutline");
+        positionAttribute = GLES20.glGetAttribLocation(program, "aPosition");
+        cornerAttribute = GLES20.glGetAttribLocation(program, "aCorner");
+        radiusAttribute = GLES20.glGetAttribLocation(program, "aRadius");
+        colorAttribute = GLES20.glGetAttribLocation(program, "aColor");
+
+        int[] buffers = new int[1];
+        GLES20.glGenBuffers(1, buffers, 0);
+        buffer = buffers[0];
+        bufferCapacity = 0; // the old buffer is gone along with the old context
+
+        GLES20.glClearColor(0f, 0f, 0f, 1f);
+        GLES20.glEnable(GLES20.GL_BLEND);
+        GLES20.glBlendFunc(GLES20.GL_SRC_ALPHA, GLES20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    /**
+     * Compile a shader
+     * @param type the type of shader
+     * @param source the GLSL source of the shader
+     * @return the shader
+     */
+    private static int compile(int type, String source) {
+        int shader = GLES20.glCreateShader(type);
+        GLES20.glShaderSource(shader, source);
+        GLES20.glCompileShader(shader);
+        int[] status = new int[1];
+        GLES20.glGetShaderiv(shader, GLES20.GL_COMPILE_STATUS, status, 0);
+        if (status[0] == 0) {
+            String log = GLES20.glGetShaderInfoLog(shader);
+            GLES20.glDeleteShader(shader);
+            throw new IllegalStateException("Could not compile shader: " + log);
+        }
+        return shader;
+    }
+
+    /**
+     * Link shaders into a program
+     * @param vertexShader the compiled vertex shader
+     * @param fragmentShader the compiled fragment shader
+     * @return the program
+     */
+    private static int link(int vertexShader, int fragmentShader) {
+        int program = GLES20.glCreateProgram();
+        GLES20.glAttachShader(program, vertexShader);
+        GLES20.glAttachShader(program, fragmentShader);
+        GLES20.glLinkProgram(program);
+        int[] status = new int[1];
+        GLES20.glGetProgramiv(program, GLES20.GL_LINK_STATUS, status, 0);
+        if (status[0] == 0) {
+            String log = GLES20.glGetProgramInfoLog(program);
+            GLES20.glDeleteProgram(program);
+            throw new IllegalStateException("Could not link shaders: " + log);
+        }
+        return program;
+    }
+
+    @Override
+    public void onSurfaceChanged(GL10 unused, int width, int height) {
+        GLES20.glViewport(0, 0, width, height);
+        GLES20.glUseProgram(program);
+        GLES20.glUniform2f(screenUniform, width, height);
+        GLES20.glUniform1f(outlineUniform, CircleSprites.OUTLINE);
+    }
+
+    @Override
+    public void onDrawFrame(GL10 unused) {
+        GLES20.glClear(GLES20.GL_COLOR_BUFFER_BIT);
+        GameThread thread = session.getGameThread();
+        if (thread == null) { return; }
+        RenderSnapshot snapshot = thread.getSnapshots().acquire();
+        if (snapshot.timeNanos < 0) { return; } // nothing has been published yet
+        HudView hud = hudView;
+        if (session.onSnapshotDrawn(snapshot) && hud != null) { hud.postInvalidate(); }
+        float alpha = Math.max(0f, Math.min(1f, (System.nanoTime() - snapshot.timeNanos) / (float) FixedTimestep.TICK_NANOS));
+
+        int circles = snapshot.tiles.getNumBlocked() + snapshot.playerBullets.count + snapshot.enemyBullets.count
+                + 1 + snapshot.enemies.count;
+        ensureCapacity(circles);
+        vertices.clear();
+        addTiles(snapshot.tiles);
+        addBullets(snapshot.playerBullets, alpha);
+        addBullets(snapshot.enemyBullets, alpha);
+        addCircle(snapshot.player.getX(0, alpha), snapshot.player.getY(0, alpha),
+                Player.BODY_PIECE_SIZE_DP + CircleSprites.OUTLINE, playerColor);
+        RenderSnapshot.Circles enemies = snapshot.enemies;
+        for (int i = 0; i < enemies.count; i++) {
+            int color = GameView.ENEMY_COLORS[GameView.enemyColorIndex(enemies.health[i], enemies.initialHealth[i])];
+            addCircle(enemies.getX(i, alpha), enemies.getY(i, alpha), enemies.radius[i], color);
+        }
+        vertices.flip();
+
+        GLES20.glBindBuffer(GLES20.GL_ARRAY_BUFFER, buffer);
+        if (bufferCapacity < vertices.capacity()) {
+            bufferCapacity = vertices.capacity();
+            GLES20.glBufferData(GLES20.GL_ARRAY_BUFFER, bufferCapacity * 4, null, GLES20.GL_STREAM_DRAW);
+        }
+        GLES20.glBufferSubData(GLES20.GL_ARRAY_BUFFER, 0, vertices.limit() * 4, vertices);
+        int stride = FLOATS_PER_VERTEX * 4;
+        enableAttribute(positionAttribute, 2, stride, 0);
+        enableAttribute(cornerAttribute, 2, stride, 2);
+        enableAttribute(radiusAttribute, 1, stride, 4);
+        enableAttribute(colorAttribute, 3, stride, 5);
+        GLES20.glDrawArrays(GLES20.GL_TRIANGLES, 0, circles * VERTICES_PER_CIRCLE);
+        GLES20.glBindBuffer(GLES20.GL_ARRAY_BUFFER, 0);
+    }
+
+    /** Point a vertex attribute at part of each vertex in the bound buffer */
+    private static void enableAttribute(int attribute, int size, int stride, int offsetFloats) {
+        GLES20.glEnableVertexAttribArray(attribute);
+        GLES20.glVertexAttribPointer(attribute, size, GLES20.GL_FLOAT, false, stride, offsetFloats * 4);
+    }
+
+    /** Make sure the vertices can hold at least the given number of circles */
+    private void ensureCapacity(int circles) {
+        if (vertices != null && vertices.capacity() >= circles * FLOATS_PER_CIRCLE) { return; }
+        int capacity = Math.max(circles, vertices == null ? 0 : 2 * vertices.capacity() / FLOATS_PER_CIRCLE);
+        vertices = ByteBuffer.allocateDirect(capacity * FLOATS_PER_CIRCLE * 4)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    /** Add every blocked tile as a solid square */
+    private void addTiles(TileMap tiles) {
+        if (tiles.getNumBlocked() == 0) { return; }
+        float half = TileMap.TILE_SIZE / 2;
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                if (tiles.isBlocked(column, row)) {
+                    addQuad((2 * column + 1) * half, (2 * row + 1) * half, half, -1f, GameView.TILE_COLOR);
+                }
+            }
+        }
+    }
+
+    /** Add every bullet in a group */
+    private void addBullets(RenderSnapshot.Circles circles, float alpha) {
+        for (int i = 0; i < circles.count; i++) {
+            addCircle(circles.getX(i, alpha), circles.getY(i, alpha), circles.radius[i], Color.GRAY);
+        }
+    }
+
+    /**
+     * Add one circle to the vertices
+     * @param x the x coordinate of the center, in px
+     * @param y the y coordinate of the center, in px
+     * @param radius the radius including the outline, in px
+     * @param color the color inside the outline
+     */
+    private void addCircle(float x, float y, float radius, int color) { addQuad(x, y, radius, radius, color); }
+
+    /**
+     * Add one square quad to the vertices
+     * @param x the x coordinate of the center, in px
+     * @param y the y coordinate of the center, in px
+     * @param half half the width of the quad, in px
+     * @param radius the radius of the circle drawn in it, or negative to fill the quad
+     * @param color the color inside the outline
+     */
+    private void addQuad(float x, float y, float half, float radius, int color) {
+        float red = Color.red(color) / 255f, green = Color.green(color) / 255f, blue = Color.blue(color) / 255f;
+        for (int corner = 0; corner < CORNERS.length; corner += 2) {
+            float cornerX = CORNERS[corner], cornerY = CORNERS[corner + 1];
+            vertices.put(x + cornerX * half).put(y + cornerY * half).put(cornerX).put(cornerY)
+                    .put(radius).put(red).put(green).put(blue);
+        }
+    }
+}
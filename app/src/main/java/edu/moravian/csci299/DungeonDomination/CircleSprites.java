@@ -0,0 +1,70 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.LongSparseArray;
+
+/**
+ * Caches bitmaps of outlined circles, one for each radius and color, so each circle in the game
+ * is drawn with a single drawBitmap call instead of two drawCircle calls. Consecutive draws of the
+ * same bitmap are merged into one batch by the hardware renderer, so drawing many circles of the
+ * same kind costs about the same as drawing one. Only used on the render thread.
+ */
+class CircleSprites {
+
+    /** The width of the black outline around every circle, in px */
+    static final int OUTLINE = 5;
+
+    /** The cached bitmaps, keyed by radius and color */
+    private final LongSparseArray<Bitmap> sprites = new LongSparseArray<>();
+
+    /** The paints used to make the bitmaps */
+    private final Paint outlinePaint = new Paint();
+    private final Paint fillPaint = new Paint();
+
+    /** Create an empty cache */
+    CircleSprites() {
+        outlinePaint.setColor(Color.BLACK);
+    }
+
+    /**
+     * Get the bitmap of a circle, making it the first time it is needed
+     * @param radius the radius including the outline, in px
+     * @param color the color inside the outline
+     * @return the bitmap, with the circle centered in it
+     */
+    Bitmap get(float radius, int color) {
+        int size = (int) Math.ceil(radius);
+        long key = ((long) size << 32) | (color & 0xFFFFFFFFL);
+        Bitmap sprite = sprites.get(key);
+        if (sprite == null) {
+            sprite = Bitmap.createBitmap(2 * size, 2 * size, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(sprite);
+            fillPaint.setColor(color);
+            canvas.drawCircle(size, size, size, outlinePaint);
+            canvas.drawCircle(size, size, size - OUTLINE, fillPaint);
+            sprites.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Draw a bitmap from the cache centered on a point
+     * @param canvas the canvas
+     * @param sprite the bitmap from get()
+     * @param x the x coordinate of the center
+     * @param y the y coordinate of the center
+     */
+    static void draw(Canvas canvas, Bitmap sprite, float x, float y) {
+        float half = sprite.getWidth() / 2f;
+        canvas.drawBitmap(sprite, x - half, y - half, null);
+    }
+
+    /** Free all of the bitmaps */
+    void clear() {
+        for (int i = 0; i < sprites.size(); i++) { sprites.valueAt(i).recycle(); }
+        sprites.clear();
+    }
+}
@@ -9,20 +9,39 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.view.View;
 import android.view.WindowManager;
+import android.widget.FrameLayout;
 
 public class GameActivity extends AppCompatActivity {
 
-    private GameView gameView; // custom drawing view
+    /** Intent extra holding the name of the GameMode to play, adventure if it is missing */
+    public static final String EXTRA_MODE = "edu.moravian.csci299.DungeonDomination.MODE";
+
+    private GameSurface gameView; // custom drawing view, Canvas or OpenGL
+    private GameSession session; // the game being played in the view
     private SensorManager sensorManager; // sensor manager
     private Sensor sensor; // gravity sensor
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_game);
+        if (PlayerProfile.get(this).isGlRendererOn()) {
+            // OpenGL draws the game, with the HUD drawn by a normal view on top
+            GameGLView glView = new GameGLView(this);
+            HudView hudView = new HudView(this, glView.getSession());
+            glView.setHudView(hudView);
+            FrameLayout layout = new FrameLayout(this);
+            layout.addView(glView);
+            layout.addView(hudView);
+            setContentView(layout);
+            gameView = glView;
+        } else {
+            setContentView(R.layout.activity_game);
+            GameView canvasView = findViewById(R.id.game_view);
+            gameView = canvasView;
+        }
+        session = gameView.getSession();
         hideSystemUI();
 
-        gameView = findViewById(R.id.game_view);
         sensorManager = (SensorManager) getSystemService(Context.SENSOR_SERVICE);
         sensor = sensorManager.getDefaultSensor(Sensor.TYPE_GRAVITY);
     }
@@ -31,14 +50,17 @@ public class GameActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        sensorManager.registerListener(gameView, sensor, SensorManager.SENSOR_DELAY_GAME);
+        sensorManager.registerListener(session, sensor, SensorManager.SENSOR_DELAY_GAME);
+        gameView.resume();
     }
 
-    /** Unregister listener when MainActivity is resumed. */
+    /** Unregister listener and pause the game when GameActivity is paused. */
     @Override
     protected void onPause() {
         super.onPause();
-        sensorManager.unregisterListener(gameView);
+        sensorManager.unregisterListener(session);
+        gameView.pause();
+        session.getProfile().flush();
     }
 
     /** Set sensor and sensor manager to null when app is closed. */
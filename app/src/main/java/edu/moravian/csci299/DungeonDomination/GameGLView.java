@@ -0,0 +1,83 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.content.Context;
+import android.opengl.GLSurfaceView;
+import android.view.MotionEvent;
+import android.view.SurfaceHolder;
+
+/**
+ * Draws the game with OpenGL ES 2.0 instead of a Canvas, for games with a lot of bullets, and
+ * passes touch input to the game session. The HUD is drawn by a HudView on top of this view.
+ */
+public class GameGLView extends GLSurfaceView implements GameSurface {
+
+    /** The game being played in this view */
+    private final GameSession session;
+
+    /** Draws the circles of the game */
+    private final CircleRenderer renderer;
+
+    public GameGLView(Context context) {
+        super(context);
+        session = new GameSession(context);
+        renderer = new CircleRenderer(session, session.getProfile().getColor());
+        setEGLContextClientVersion(2);
+        setRenderer(renderer);
+        setRenderMode(RENDERMODE_CONTINUOUSLY);
+    }
+
+    /** Get the game being played in this view */
+    @Override
+    public GameSession getSession() { return this.session; }
+
+    /**
+     * Set the view showing the HUD over this one
+     * @param hudView the view, which is redrawn when the HUD changes
+     */
+    public void setHudView(HudView hudView) { renderer.setHudView(hudView); }
+
+    /** Start the game once the size of the surface is known */
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        super.surfaceChanged(holder, format, width, height);
+        session.start(width, height);
+    }
+
+    /** Pause the game and the GL thread, for when the activity is no longer in the foreground */
+    @Override
+    public void pause() {
+        session.pause();
+        onPause();
+    }
+
+    /** Resume the GL thread and the game after they were paused */
+    @Override
+    public void resume() {
+        onResume();
+        session.resume();
+    }
+
+    /** Stop the game once the view is gone */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        session.stop();
+    }
+
+    /**
+     * When the screen is touched, pass the touch to the game.
+     * @param event touching the screen event
+     * @return always return true
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        session.onTouchEvent(event);
+        performClick();
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+}
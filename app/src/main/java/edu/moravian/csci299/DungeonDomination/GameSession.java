@@ -0,0 +1,205 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.app.Activity;
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.view.MotionEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Everything about playing a game that doesn't depend on how it is drawn: starting the game and
+ * its thread, recording the input when replays are turned on, passing touch and tilt input to the game thread, and saving
+ * the collected coins once the game is over. Shared by the Canvas and OpenGL game views.
+ */
+public class GameSession implements SensorEventListener {
+
+    /** File in the cache directory the last game's input is recorded to, for replaying it later */
+    public static final String REPLAY_FILE = "last_game.replay";
+
+    /** The game for the logic behind the session */
+    private final Game game = new Game();
+    private final Context context;
+
+    /**
+     * Records the game's input into memory so the game thread never waits on the disk, both are
+     * null when replays are turned off. The recording is saved to a file once the game stops.
+     */
+    private InputRecorder recorder;
+    private ByteArrayOutputStream recording;
+
+    /** Runs the game on its own thread once the game has started */
+    private volatile GameThread gameThread;
+
+    /** Copied from the last drawn snapshot for the UI thread to read */
+    private volatile int drawnCollectedCoins, drawnPlayerHealth;
+    private volatile boolean drawnGameOver, drawnHasWon;
+
+    /** The saved player, and the coins they had before this game */
+    private final PlayerProfile profile;
+    private final int currentCoins;
+
+    /** If the coins collected this game have been given to the player */
+    private boolean coinsSaved = false;
+
+    /**
+     * Create a session for a game that starts once the size of the screen is known
+     * @param context the game activity
+     */
+    public GameSession(Context context) {
+        this.context = context;
+        profile = PlayerProfile.get(context);
+        currentCoins = profile.getCoins();
+    }
+
+    /** Get the saved player */
+    public PlayerProfile getProfile() { return this.profile; }
+
+    /** Get the number of coins the player had before this game */
+    public int getCurrentCoins() { return this.currentCoins; }
+
+    /** Get the thread running the game, or null if the game hasn't started */
+    public GameThread getGameThread() { return this.gameThread; }
+
+    /**
+     * Starts a new game if game has not started yet, given the size of the screen, number of
+     * purchased weapon upgrades (to increase player's damage), and difficulty (multiplier to
+     * increase enemy health and coin value).
+     * @param width the width of the screen in px
+     * @param height the height of the screen in px
+     */
+    public void start(int width, int height) {
+        if (!game.hasNotStarted()) { return; }
+        if (profile.isReplayOn()) {
+            recording = new ByteArrayOutputStream();
+            recorder = new InputRecorder(recording);
+            game.setRecorder(recorder);
+        }
+        String mode = ((Activity) context).getIntent().getStringExtra(GameActivity.EXTRA_MODE);
+        game.startGame(width, height,
+                5 * (profile.getWeaponUpgrades() + 1),
+                profile.getDifficulty(),
+                mode == null ? GameMode.ADVENTURE : GameMode.valueOf(mode));
+        gameThread = new GameThread(game);
+        gameThread.start();
+    }
+
+    /** Pause the game, for when the activity is no longer in the foreground */
+    public void pause() { if (gameThread != null) gameThread.setPaused(true); }
+
+    /** Resume the game after it was paused */
+    public void resume() { if (gameThread != null) gameThread.setPaused(false); }
+
+    /**
+     * Stop the game thread and finish the recording. The game thread has stopped once stopGame
+     * returns, so nothing else writes to the recording while it is saved on a background thread.
+     */
+    public void stop() {
+        if (gameThread != null) gameThread.stopGame();
+        if (recorder == null) { return; }
+        InputRecorder finished = recorder;
+        ByteArrayOutputStream bytes = recording;
+        recorder = null;
+        recording = null;
+        File file = new File(context.getCacheDir(), REPLAY_FILE);
+        new Thread(() -> {
+            try {
+                finished.close(game.getTick());
+                try (OutputStream out = new FileOutputStream(file)) {
+                    bytes.writeTo(out);
+                }
+            } catch (IOException e) {
+                // the recording is only for debugging, losing it is fine
+            }
+        }, "ReplaySave").start();
+    }
+
+    /**
+     * Remember what was shown from a snapshot, called by the renderer after it acquires one.
+     * @param snapshot the snapshot being drawn
+     * @return true if the coins, health, or game over status changed since the last snapshot
+     */
+    public boolean onSnapshotDrawn(RenderSnapshot snapshot) {
+        boolean changed = snapshot.collectedCoins != drawnCollectedCoins || snapshot.playerHealth != drawnPlayerHealth
+                || snapshot.isGameOver != drawnGameOver || snapshot.hasWon != drawnHasWon;
+        drawnCollectedCoins = snapshot.collectedCoins;
+        drawnPlayerHealth = snapshot.playerHealth;
+        drawnGameOver = snapshot.isGameOver;
+        drawnHasWon = snapshot.hasWon;
+        return changed;
+    }
+
+    /** Get the coins the player has including this game, as of the last drawn snapshot */
+    public int getDrawnCoins() { return this.currentCoins + this.drawnCollectedCoins; }
+
+    /** Get the health of the player as of the last drawn snapshot */
+    public int getDrawnPlayerHealth() { return this.drawnPlayerHealth; }
+
+    /** Get if the game was over in the last drawn snapshot */
+    public boolean isDrawnGameOver() { return this.drawnGameOver; }
+
+    /** Get if the player had won in the last drawn snapshot */
+    public boolean hasDrawnWon() { return this.drawnHasWon; }
+
+    /**
+     * When the screen is touched, pass every pointer to the game thread, which fires at each
+     * pointer held down at the weapon's rate. Moves only pass the newest position of each pointer,
+     * the historical samples batched into the event don't change where the next shot goes.
+     * If the game is over, return to main activity.
+     * @param event touching the screen event
+     */
+    public void onTouchEvent(MotionEvent event) {
+        if (drawnGameOver) {
+            if (!coinsSaved) {
+                profile.addCoins(drawnCollectedCoins);
+                coinsSaved = true;
+            }
+            ((GameActivity) context).finish();
+        }
+        GameThread thread = gameThread;
+        if (thread == null) { return; }
+        InputQueue input = thread.getInput();
+        int index = event.getActionIndex();
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+            case MotionEvent.ACTION_POINTER_DOWN:
+                input.offerPointer(InputQueue.POINTER_DOWN, event.getPointerId(index), event.getX(index), event.getY(index));
+                break;
+            case MotionEvent.ACTION_MOVE:
+                for (int i = 0; i < event.getPointerCount(); i++) {
+                    input.offerPointer(InputQueue.POINTER_MOVE, event.getPointerId(i), event.getX(i), event.getY(i));
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_POINTER_UP:
+                input.offerPointer(InputQueue.POINTER_UP, event.getPointerId(index), 0f, 0f);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                for (int i = 0; i < event.getPointerCount(); i++) {
+                    input.offerPointer(InputQueue.POINTER_UP, event.getPointerId(i), 0f, 0f);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Pass the tilt of the device to the game thread, which filters it into the direction the
+     * player moves once per tick. Readings that arrive between ticks replace each other.
+     * @param event event that sensor has changed
+     */
+    @Override
+    public void onSensorChanged(SensorEvent event) {
+        if (gameThread != null) gameThread.getTilt().offer(event.values[1], event.values[0]);
+    }
+
+    @Override
+    public void onAccuracyChanged(Sensor sensor, int accuracy) {
+
+    }
+}
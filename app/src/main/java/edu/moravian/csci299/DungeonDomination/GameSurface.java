@@ -0,0 +1,16 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * A view the game is played in, drawn either with a Canvas or with OpenGL.
+ */
+public interface GameSurface {
+
+    /** Get the game being played in the view */
+    GameSession getSession();
+
+    /** Pause the game and drawing, for when the activity is no longer in the foreground */
+    void pause();
+
+    /** Resume the game and drawing after they were paused */
+    void resume();
+}
@@ -1,208 +1,289 @@
 package edu.moravian.csci299.DungeonDomination;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.PointF;
-import android.hardware.Sensor;
-import android.hardware.SensorEvent;
-import android.hardware.SensorEventListener;
 import android.util.AttributeSet;
-import android.util.DisplayMetrics;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.Choreographer;
 import android.view.MotionEvent;
-import android.view.View;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
 
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
 
 import androidx.annotation.Nullable;
 
-public class GameView extends View implements SensorEventListener {
+/**
+ * Draws the game onto a SurfaceView from a dedicated render thread, paced by the Choreographer,
+ * and passes touch input to the game session.
+ */
+public class GameView extends SurfaceView implements SurfaceHolder.Callback, GameSurface {
 
-    /** The game for the logic behind this view */
-    private final Game game;
-    Context gameActivity;
+    /** The game being played in this view */
+    private final GameSession session;
 
-    /** The metrics about the display to convert from dp and sp to px */
-    private final DisplayMetrics displayMetrics;
+    /** File in the cache directory the frame and update times are written to when the performance HUD is on */
+    public static final String PERF_FILE = "last_game_perf.txt";
 
-    /** The paints used for the different parts of the game */
-    private final Paint outlinePaint = new Paint();
-    private final Paint playerPaint = new Paint();
-    private final Paint textPaint = new Paint();
-    private final Paint bulletPaint = new Paint();
-    private final Paint coinPaint = new Paint();
-    private final Paint enemyPaint = new Paint();
+    /** Draws performance stats over the game, or null if the performance HUD is off */
+    private final PerfOverlay perfOverlay;
 
-    /** Shared preferences */
-    private final SharedPreferences sharedPreferences;
-    private final int currentCoins;
+    /** Draws frames while the surface exists */
+    private HandlerThread renderThread;
+    private final Choreographer.FrameCallback frameCallback = this::drawFrame;
+
+    /** The snapshot of the game being drawn */
+    private RenderSnapshot snapshot;
+
+    /** How far between the last two ticks the current frame is, used to smooth drawing */
+    private float alpha = 0f;
+
+    /** Draws the coins, health, and game over message */
+    private final HudPainter hud;
+
+    /** The color of obstacles, shared with the OpenGL renderer */
+    static final int TILE_COLOR = Color.DKGRAY;
+    private final Paint tilePaint = new Paint();
+
+    /** Bitmaps of the circles for the player, enemies, and bullets */
+    private final CircleSprites sprites = new CircleSprites();
+    private final int playerColor;
+
+    /** Enemy colors from lowest to highest health, and the indices of the enemies of each color */
+    static final int[] ENEMY_COLORS = { Color.RED, Color.YELLOW, Color.GREEN };
+    private final int[][] enemiesByColor = new int[ENEMY_COLORS.length][16];
+    private final int[] enemyColorCounts = new int[ENEMY_COLORS.length];
 
     public GameView(Context context) { this(context, null);  }
     public GameView(Context context, @Nullable AttributeSet attrs) {
         super(context, attrs);
 
-        // Get the metrics for the display so we can later convert between dp, sp, and px
-        displayMetrics = context.getResources().getDisplayMetrics();
-
         // Make the game
-        game = new Game();
-        gameActivity = getContext();
-        sharedPreferences = gameActivity.getSharedPreferences(MainActivity.SHARED_PREF_FILE, Context.MODE_PRIVATE);
-        currentCoins = sharedPreferences.getInt("coins", 0);
-        int playerColor = sharedPreferences.getInt(getResources().getString(R.string.color), Color.WHITE);
-
-        // The color painted as the background
-        setBackgroundColor(Color.BLACK);
-
-        // Setup all of the paints used for drawing
-        setPaint(outlinePaint, Color.BLACK);
-        setPaint(bulletPaint, Color.GRAY);
-        setPaint(playerPaint, playerColor);
-        setPaint(textPaint, Color.WHITE);
-        setPaint(coinPaint, Color.rgb(255, 215, 0));
+        session = new GameSession(context);
+        playerColor = session.getProfile().getColor();
+        perfOverlay = session.getProfile().isPerfHudOn() ? new PerfOverlay(28f) : null;
+        hud = new HudPainter(context);
+        tilePaint.setColor(TILE_COLOR);
+
+        // Draw once the surface is ready
+        getHolder().addCallback(this);
     }
 
+    /** Get the game being played in this view */
+    @Override
+    public GameSession getSession() { return this.session; }
+
     /**
-     * Sets the paint color.
-     * @param paint paint object for text or shape
-     * @param color color for the paint
+     * Get the index into ENEMY_COLORS of an enemy's color, which depends on its remaining health
+     * @param health the enemy's health
+     * @param initialHealth the enemy's health when it was made
+     * @return 0 for red, 1 for yellow, or 2 for green
      */
-    private void setPaint(Paint paint, int color) {
-        paint.setColor(color);
+    static int enemyColorIndex(int health, int initialHealth) {
+        return health <= initialHealth/4 ? 0 : health <= initialHealth/2 ? 1 : 2;
     }
 
     /**
-     * Update and draw all aspects of the game.
-     * @param canvas the canvas
+     * Draw one frame on the render thread and ask the Choreographer for the next one.
+     * @param frameTimeNanos the time the frame started rendering, in nanoseconds
      */
-    @Override
-    protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
-        postInvalidateOnAnimation(); //automatically invalidate every frame for continuous playback
+    private void drawFrame(long frameTimeNanos) {
+        Choreographer.getInstance().postFrameCallback(frameCallback); // draw every frame for continuous playback
+        if (perfOverlay != null) perfOverlay.onFrame(frameTimeNanos);
+        SurfaceHolder holder = getHolder();
+        Canvas canvas = holder.lockHardwareCanvas();
+        if (canvas == null) { return; }
+        try {
+            draw(canvas, frameTimeNanos);
+        } finally {
+            holder.unlockCanvasAndPost(canvas);
+        }
+    }
 
-        game.update();
-        drawBullets(canvas, game.getPlayerBullets());
-        drawBullets(canvas, game.getEnemyBullets());
+    /**
+     * Draw all aspects of the latest snapshot published by the game thread.
+     * @param canvas the canvas
+     * @param frameTimeNanos the time the frame started rendering, in nanoseconds
+     */
+    private void draw(Canvas canvas, long frameTimeNanos) {
+        canvas.drawColor(Color.BLACK);
+        GameThread thread = session.getGameThread();
+        if (thread == null) { return; }
+        snapshot = thread.getSnapshots().acquire();
+        if (snapshot.timeNanos < 0) { return; } // nothing has been published yet
+        session.onSnapshotDrawn(snapshot);
+        alpha = Math.max(0f, Math.min(1f, (frameTimeNanos - snapshot.timeNanos) / (float) FixedTimestep.TICK_NANOS));
+        drawTiles(canvas, snapshot.tiles);
+        drawBullets(canvas, snapshot.playerBullets);
+        drawBullets(canvas, snapshot.enemyBullets);
         drawPlayer(canvas);
         drawEnemies(canvas);
-        drawText(canvas);
-        drawCoin(canvas);
+        hud.draw(canvas, session.getCurrentCoins() + snapshot.collectedCoins, snapshot.playerHealth,
+                snapshot.isGameOver, snapshot.hasWon);
+        if (perfOverlay != null) perfOverlay.draw(canvas, snapshot, frameTimeNanos, 20, 100);
+    }
+
+    /** Start the render thread once there is a surface to draw on */
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        renderThread = new HandlerThread("RenderThread");
+        renderThread.start();
+        new Handler(renderThread.getLooper()).post(() -> {
+            warmUpSprites();
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        });
     }
 
     /**
-     * Sets the size of the layout. Starts a new game if game has not started yet, 
-     * given the size of the layout, number of purchased weapon upgrades (to increase
-     * player's damage), and difficulty (multiplier to increase enemy health and coin value).
+     * Make the bitmaps of every kind of circle before the first frame, so entering a room
+     * with a kind of enemy that hasn't been seen yet, like a boss, doesn't hitch
      */
+    private void warmUpSprites() {
+        sprites.get(Player.BODY_PIECE_SIZE_DP + CircleSprites.OUTLINE, playerColor);
+        sprites.get(BulletStore.RADIUS, Color.GRAY);
+        for (int color : ENEMY_COLORS) {
+            sprites.get(Room.ENEMY_RADIUS, color);
+            sprites.get(Room.BOSS_RADIUS, color);
+        }
+    }
+
+    /** Start the game once the size of the surface is known */
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
+        session.start(width, height);
+    }
+
+    /** Stop the render thread and wait for it, the surface can't be drawn on once this returns */
     @Override
-    protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
-        super.onLayout(changed, left, top, right, bottom);
-        if (game.hasNotStarted()) {
-            game.startGame(right - left, bottom - top,
-                    5 * (sharedPreferences.getInt(getResources().getString(R.string.weapon_upgrades),0) + 1),
-                    sharedPreferences.getInt(getResources().getString(R.string.difficulty), 1));
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        new Handler(renderThread.getLooper()).post(
+            () -> Choreographer.getInstance().removeFrameCallback(frameCallback));
+        renderThread.quitSafely();
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        invalidate();
+        renderThread = null;
+        sprites.clear();
+        hud.clear();
     }
 
+    /** Pause the game, for when the activity is no longer in the foreground */
+    @Override
+    public void pause() { session.pause(); }
+
+    /** Resume the game after it was paused */
+    @Override
+    public void resume() { session.resume(); }
+
     /**
-     * Draws the player.
-     * @param canvas the canvas
+     * Stop the game once the view is gone. The performance stats are written on a background
+     * thread so the file write doesn't hold up the UI thread, the game and render threads have
+     * both stopped by now so nothing changes the stats while they are written.
      */
-    public void drawPlayer(Canvas canvas) {
-        PointF playerLocation = game.getPlayer().getLocation();
-        canvas.drawCircle(playerLocation.x, playerLocation.y, Player.BODY_PIECE_SIZE_DP + 5, outlinePaint);
-        canvas.drawCircle(playerLocation.x, playerLocation.y, Player.BODY_PIECE_SIZE_DP, playerPaint);
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        session.stop();
+        GameThread thread = session.getGameThread();
+        if (perfOverlay != null && thread != null) {
+            File file = new File(getContext().getCacheDir(), PERF_FILE);
+            FrameStats updateStats = thread.getUpdateStats();
+            new Thread(() -> {
+                try {
+                    perfOverlay.dump(file, updateStats);
+                } catch (IOException e) {
+                    // the stats are only for debugging, losing them is fine
+                }
+            }, "PerfDump").start();
+        }
     }
 
     /**
-     * Draws each enemy on the canvas. Changes the enemy's color
-     * depending on their remaining health.
+     * Draws the obstacles of the room. Blocked tiles next to each other in a row are drawn as one
+     * rectangle.
      * @param canvas the canvas
+     * @param tiles the obstacles to draw
      */
-    public void drawEnemies(Canvas canvas) {
-        for (Enemy enemy : game.getEnemies()) {
-            PointF enemyLocation = enemy.getLocation();
-            int health = enemy.getHealth();
-            int initialHealth = enemy.getInitialHealth();
-            if (health <= initialHealth/4) setPaint(enemyPaint, Color.RED);
-            else if (health <= initialHealth/2) setPaint(enemyPaint, Color.YELLOW);
-            else setPaint(enemyPaint, Color.GREEN);
-            canvas.drawCircle(enemyLocation.x, enemyLocation.y, enemy.getRadius(), outlinePaint);
-            canvas.drawCircle(enemyLocation.x, enemyLocation.y, enemy.getRadius() - 5, enemyPaint);
+    public void drawTiles(Canvas canvas, TileMap tiles) {
+        if (tiles.getNumBlocked() == 0) { return; }
+        float size = TileMap.TILE_SIZE;
+        for (int row = 0; row < tiles.getRows(); row++) {
+            int column = 0;
+            while (column < tiles.getColumns()) {
+                if (!tiles.isBlocked(column, row)) {
+                    column++;
+                    continue;
+                }
+                int start = column;
+                while (column < tiles.getColumns() && tiles.isBlocked(column, row)) { column++; }
+                canvas.drawRect(start * size, row * size, column * size, (row + 1) * size, tilePaint);
+            }
         }
     }
 
     /**
-     * Draws each bullet on the canvas.
+     * Draws the player.
      * @param canvas the canvas
-     * @param bullets list of all bullets to draw
      */
-    public void drawBullets(Canvas canvas, List<Bullet> bullets) {
-        for (Bullet bullet : bullets) {
-            PointF bulletLocation = bullet.getLocation();
-            canvas.drawCircle(bulletLocation.x, bulletLocation.y, bullet.getRadius(), outlinePaint);
-            canvas.drawCircle(bulletLocation.x, bulletLocation.y, bullet.getRadius() - 5, bulletPaint);
-        }
+    public void drawPlayer(Canvas canvas) {
+        float x = snapshot.player.getX(0, alpha), y = snapshot.player.getY(0, alpha);
+        CircleSprites.draw(canvas, sprites.get(Player.BODY_PIECE_SIZE_DP + CircleSprites.OUTLINE, playerColor), x, y);
     }
 
     /**
-     * Draws coin next to the number of coins the player has.
+     * Draws each enemy on the canvas. Changes the enemy's color
+     * depending on their remaining health. Enemies of the same color
+     * are drawn one after another so their draws are batched together.
      * @param canvas the canvas
      */
-    public void drawCoin(Canvas canvas) {
-        canvas.drawCircle(50, 50, 30, outlinePaint);
-        canvas.drawCircle(50, 50, 25, coinPaint);
-        textPaint.setTextSize(40f);
-        canvas.drawText(gameActivity.getString(R.string.coins), 37, 65, textPaint);
+    public void drawEnemies(Canvas canvas) {
+        RenderSnapshot.Circles enemies = snapshot.enemies;
+        for (int color = 0; color < ENEMY_COLORS.length; color++) {
+            enemyColorCounts[color] = 0;
+            if (enemiesByColor[color].length < enemies.count) {
+                enemiesByColor[color] = new int[Math.max(enemies.count, 2 * enemiesByColor[color].length)];
+            }
+        }
+        for (int i = 0; i < enemies.count; i++) {
+            int color = enemyColorIndex(enemies.health[i], enemies.initialHealth[i]);
+            enemiesByColor[color][enemyColorCounts[color]++] = i;
+        }
+        for (int color = 0; color < ENEMY_COLORS.length; color++) {
+            for (int j = 0; j < enemyColorCounts[color]; j++) {
+                int i = enemiesByColor[color][j];
+                Bitmap sprite = sprites.get(enemies.radius[i], ENEMY_COLORS[color]);
+                CircleSprites.draw(canvas, sprite, enemies.getX(i, alpha), enemies.getY(i, alpha));
+            }
+        }
     }
 
     /**
-     * Draw text for the number of coins the player has, their
-     * current HP, and a "game over" message once game is over.
-     * This message varies depending if player won or not.
+     * Draws each bullet on the canvas.
      * @param canvas the canvas
+     * @param bullets all bullets to draw
      */
-    public void drawText(Canvas canvas) {
-        // coin count
-        String coins = Integer.toString(this.currentCoins+game.getCurrentCollectedCoins());
-        textPaint.setTextSize(48f);
-        canvas.drawText(coins, 100, 67, textPaint);
-
-        // current HP of player
-        String hpText = gameActivity.getString(R.string.hp);
-        String hp = Integer.toString(game.getPlayer().getHealth());
-        canvas.drawText(hpText + " " + hp, (float)(displayMetrics.widthPixels - 70), 67, textPaint);
-
-        // announce that game is over
-        if (game.isGameOver()) {
-            int gameOverMessage = game.hasPlayerWon() ? R.string.game_over_won : R.string.game_over_lost;
-            int offset = game.hasPlayerWon() ? 150 : 70;
-            canvas.drawText(getResources().getString(gameOverMessage), (float)(displayMetrics.widthPixels / 2) - offset,
-                                           (float)(displayMetrics.heightPixels / 2), textPaint);
+    public void drawBullets(Canvas canvas, RenderSnapshot.Circles bullets) {
+        Bitmap sprite = sprites.get(BulletStore.RADIUS, Color.GRAY); // every bullet is the same size
+        for (int i = 0; i < bullets.count; i++) {
+            CircleSprites.draw(canvas, sprite, bullets.getX(i, alpha), bullets.getY(i, alpha));
         }
     }
 
     /**
-     * When the screen is touched, checks if the snake, food, or wall
-     * was touched. If the game is over, return to main activity.
+     * When the screen is touched, pass the touch to the game.
      * @param event touching the screen event
      * @return always return true
      */
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        if (game.isGameOver()) {
-            sharedPreferences.edit().putInt("coins", this.currentCoins + game.getCurrentCollectedCoins()).apply();
-            ((GameActivity) gameActivity).finish();
-        }
-        int action = event.getAction();
-        PointF point = new PointF(event.getX(), event.getY());
-        if (action == MotionEvent.ACTION_DOWN) {
-            game.touched(point);
-        }
-        invalidate();
+        session.onTouchEvent(event);
         performClick();
         return true;
     }
@@ -211,19 +292,4 @@ public class GameView extends View implements SensorEventListener {
     public boolean performClick() {
         return super.performClick();
     }
-
-    /**
-     * Calculates the angle that the player is looking based off the
-     * event values and set the direction for the game.
-     * @param event event that sensor has changed
-     */
-    @Override
-    public void onSensorChanged(SensorEvent event) {
-        game.setMovementDirection(Math.atan2(event.values[0], event.values[1]));
-    }
-
-    @Override
-    public void onAccuracyChanged(Sensor sensor, int accuracy) {
-
-    }
 }
@@ -0,0 +1,136 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.DisplayMetrics;
+
+/**
+ * Draws the coins, health, and game over message over the game. Used by both the Canvas and
+ * OpenGL game views so the HUD looks the same whichever renderer is picked. The coin icon, coins,
+ * and health are drawn into a cached bitmap along the top of the screen that is only redrawn when
+ * the coins or health change, so most frames just draw that one bitmap.
+ */
+class HudPainter {
+
+    /** The height of the cached strip along the top of the screen, in px */
+    private static final int STRIP_HEIGHT = 90;
+
+    /** The paints used for the HUD */
+    private final Paint outlinePaint = new Paint();
+    private final Paint textPaint = new Paint();
+    private final Paint labelPaint = new Paint();
+    private final Paint coinPaint = new Paint();
+
+    /** Text shown in the HUD */
+    private final String coinLabel, hpLabel, gameOverWon, gameOverLost;
+
+    /** The metrics about the display to place the text */
+    private final DisplayMetrics displayMetrics;
+
+    /** The cached strip, or null until it is first drawn, and the values drawn on it */
+    private Bitmap strip;
+    private Canvas stripCanvas;
+    private int stripCoins, stripHealth;
+
+    /** Space to write the numbers into without making new Strings */
+    private final char[] text = new char[32];
+
+    /**
+     * Create a painter, reading the text it needs from the resources
+     * @param context the game activity
+     */
+    HudPainter(Context context) {
+        displayMetrics = context.getResources().getDisplayMetrics();
+        coinLabel = context.getString(R.string.coins);
+        hpLabel = context.getString(R.string.hp) + " ";
+        gameOverWon = context.getString(R.string.game_over_won);
+        gameOverLost = context.getString(R.string.game_over_lost);
+        outlinePaint.setColor(Color.BLACK);
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTextSize(48f);
+        labelPaint.setColor(Color.WHITE);
+        labelPaint.setTextSize(40f);
+        coinPaint.setColor(Color.rgb(255, 215, 0));
+    }
+
+    /**
+     * Draw the whole HUD
+     * @param canvas the canvas
+     * @param coins the coins the player has including this game
+     * @param health the health of the player
+     * @param isGameOver if the game is over
+     * @param hasWon if the player won
+     */
+    void draw(Canvas canvas, int coins, int health, boolean isGameOver, boolean hasWon) {
+        if (strip == null) {
+            strip = Bitmap.createBitmap(displayMetrics.widthPixels, STRIP_HEIGHT, Bitmap.Config.ARGB_8888);
+            stripCanvas = new Canvas(strip);
+            redrawStrip(coins, health);
+        } else if (coins != stripCoins || health != stripHealth) {
+            redrawStrip(coins, health);
+        }
+        canvas.drawBitmap(strip, 0, 0, null);
+
+        // announce that game is over
+        if (isGameOver) {
+            int offset = hasWon ? 150 : 70;
+            canvas.drawText(hasWon ? gameOverWon : gameOverLost, (float)(displayMetrics.widthPixels / 2) - offset,
+                                           (float)(displayMetrics.heightPixels / 2), textPaint);
+        }
+    }
+
+    /**
+     * Draw text for the number of coins the player has, their current HP,
+     * and the coin icon next to the coins onto the cached strip.
+     */
+    private void redrawStrip(int coins, int health) {
+        stripCoins = coins;
+        stripHealth = health;
+        strip.eraseColor(Color.TRANSPARENT);
+
+        // coin count
+        int length = writeInt(coins, 0);
+        stripCanvas.drawText(text, 0, length, 100, 67, textPaint);
+
+        // current HP of player
+        hpLabel.getChars(0, hpLabel.length(), text, 0);
+        length = writeInt(health, hpLabel.length());
+        stripCanvas.drawText(text, 0, length, (float)(displayMetrics.widthPixels - 70), 67, textPaint);
+
+        // coin icon
+        stripCanvas.drawCircle(50, 50, 30, outlinePaint);
+        stripCanvas.drawCircle(50, 50, 25, coinPaint);
+        stripCanvas.drawText(coinLabel, 37, 65, labelPaint);
+    }
+
+    /**
+     * Write a number into the text buffer
+     * @param value the number to write
+     * @param start where in the buffer to start writing
+     * @return the index just after the last char written
+     */
+    private int writeInt(int value, int start) {
+        int end = start;
+        if (value < 0) {
+            text[end++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) { digits++; }
+        for (int i = end + digits - 1; i >= end; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end + digits;
+    }
+
+    /** Free the cached strip */
+    void clear() {
+        if (strip != null) { strip.recycle(); }
+        strip = null;
+        stripCanvas = null;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+
+/**
+ * Draws the HUD over the OpenGL game view, which can only draw circles. It is only redrawn when
+ * the renderer sees the coins, health, or game over status change.
+ */
+public class HudView extends View {
+
+    /** The game whose HUD is drawn */
+    private final GameSession session;
+
+    /** Draws the coins, health, and game over message */
+    private final HudPainter hud;
+
+    /**
+     * Create a HUD for a game
+     * @param context the game activity
+     * @param session the game whose HUD is drawn
+     */
+    public HudView(Context context, GameSession session) {
+        super(context);
+        this.session = session;
+        hud = new HudPainter(context);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        hud.draw(canvas, session.getDrawnCoins(), session.getDrawnPlayerHealth(),
+                session.isDrawnGameOver(), session.hasDrawnWon());
+    }
+
+    /** Free the cached HUD once the view is gone */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        hud.clear();
+    }
+}
@@ -3,7 +3,6 @@ package edu.moravian.csci299.DungeonDomination;
 import androidx.appcompat.app.AppCompatActivity;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.os.Handler;
@@ -19,8 +18,7 @@ import android.widget.TextView;
  */
 public class MainActivity extends AppCompatActivity {
 
-    /** Access to Shared Preferences */
-    private SharedPreferences sharedPreferences;
+    /** The name of the shared preferences file the PlayerProfile is saved in */
     public static final String SHARED_PREF_FILE = "SharedPreferences";
 
     @Override
@@ -33,10 +31,10 @@ public class MainActivity extends AppCompatActivity {
         // set background color
         this.getWindow().getDecorView().setBackgroundColor(Color.CYAN);
 
-        // Set up shared preferences and its editor
-        sharedPreferences = getSharedPreferences(SHARED_PREF_FILE, MODE_PRIVATE);
-        boolean isMusicOn = sharedPreferences.getBoolean(getResources().getString(R.string.musicOn), true);
-        if (isMusicOn) PlayMusic.playAudio(getApplicationContext());
+        // Load the player's profile off the main thread and start the music once it is loaded
+        PlayerProfile.load(this, profile -> {
+            if (profile.isMusicOn()) PlayMusic.playAudio(getApplicationContext());
+        });
     }
 
     /**
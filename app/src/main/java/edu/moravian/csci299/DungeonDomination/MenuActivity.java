@@ -32,6 +32,8 @@ public class MenuActivity extends AppCompatActivity implements View.OnClickListe
         
         // set listener for buttons
         findViewById(R.id.adventure_button).setOnClickListener(this);
+        findViewById(R.id.endless_button).setOnClickListener(this);
+        findViewById(R.id.bullet_hell_button).setOnClickListener(this);
         findViewById(R.id.settings_button).setOnClickListener(this);
         findViewById(R.id.store_button).setOnClickListener(this);
 
@@ -50,19 +52,26 @@ public class MenuActivity extends AppCompatActivity implements View.OnClickListe
     }
 
     /**
-     * When the adventure button is clicked to start the GameActivity
+     * When the adventure, endless, or bullet hell button is clicked to start the GameActivity
      * @param v The play game button
      */
     @Override
     public void onClick(View v) {
         int buttonId = v.getId();
         Class<? extends AppCompatActivity> nextActivity = StoreActivity.class;
+        GameMode mode = GameMode.ADVENTURE;
         if (buttonId == R.id.adventure_button) {
             nextActivity = GameActivity.class;
+        } else if (buttonId == R.id.endless_button) {
+            nextActivity = GameActivity.class;
+            mode = GameMode.ENDLESS;
+        } else if (buttonId == R.id.bullet_hell_button) {
+            nextActivity = GameActivity.class;
+            mode = GameMode.BULLET_HELL;
         } else if (buttonId == R.id.settings_button) {
             nextActivity = SettingsActivity.class;
         }
-        startActivity(new Intent(this, nextActivity));
+        startActivity(new Intent(this, nextActivity).putExtra(GameActivity.EXTRA_MODE, mode.name()));
     }
 
     /** Timeout handler to re-hide the system UI after a delay */
@@ -0,0 +1,193 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.Debug;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Draws frame rate, frame time percentiles, update time percentiles, entity counts, the garbage
+ * collection count, and the allocation rate over the game. The numbers are refreshed a couple of
+ * times a second into reused char buffers so drawing the overlay doesn't allocate. Only used on the render thread.
+ */
+class PerfOverlay {
+
+    /** How often the text is refreshed, in nanoseconds */
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    /** How often the garbage collection stats are read, they allocate so this is rare */
+    private static final long GC_REFRESH_NANOS = 2_000_000_000L;
+
+    /** The time between the last few seconds of frames */
+    private final FrameStats frameStats = new FrameStats(4 * FixedTimestep.TICKS_PER_SECOND);
+    private long lastFrameNanos = -1;
+
+    /** When the text and garbage collection stats were last refreshed */
+    private long lastRefreshNanos, lastGcRefreshNanos;
+
+    /** Garbage collection stats as of the last time they were read, the bytes allocated is a running total */
+    private long gcCount, gcBytesAllocated = -1;
+
+    /** The rate bytes were allocated at between the last two reads, in KB per second */
+    private long allocatedKbPerSecond;
+
+    /** The lines of text drawn and how many chars of each are used */
+    private static final int LINES = 4;
+    private final char[][] lines = new char[LINES][64];
+    private final int[] lengths = new int[LINES];
+
+    /** The paint used for the text and the height of each line, in px */
+    private final Paint paint = new Paint();
+    private final float lineHeight;
+
+    /**
+     * Create an overlay
+     * @param textSize the size of the text, in px
+     */
+    PerfOverlay(float textSize) {
+        paint.setColor(Color.GREEN);
+        paint.setTextSize(textSize);
+        lineHeight = textSize * 1.2f;
+    }
+
+    /**
+     * Record the start of a frame
+     * @param frameTimeNanos the time the frame started rendering, in nanoseconds
+     */
+    void onFrame(long frameTimeNanos) {
+        if (lastFrameNanos >= 0) { frameStats.record(frameTimeNanos - lastFrameNanos); }
+        lastFrameNanos = frameTimeNanos;
+    }
+
+    /**
+     * Draw the overlay, refreshing its text first if it is old
+     * @param canvas the canvas
+     * @param snapshot the snapshot being drawn this frame
+     * @param frameTimeNanos the time the frame started rendering, in nanoseconds
+     * @param x the left of the text, in px
+     * @param y the top of the text, in px
+     */
+    void draw(Canvas canvas, RenderSnapshot snapshot, long frameTimeNanos, float x, float y) {
+        if (frameTimeNanos - lastRefreshNanos >= REFRESH_NANOS) {
+            refresh(snapshot, frameTimeNanos);
+            lastRefreshNanos = frameTimeNanos;
+        }
+        for (int i = 0; i < LINES; i++) {
+            canvas.drawText(lines[i], 0, lengths[i], x, y + (i + 1) * lineHeight, paint);
+        }
+    }
+
+    /** Rewrite the lines of text from the latest stats */
+    private void refresh(RenderSnapshot snapshot, long nowNanos) {
+        if (nowNanos - lastGcRefreshNanos >= GC_REFRESH_NANOS) {
+            gcCount = parseStat("art.gc.gc-count");
+            long bytesAllocated = parseStat("art.gc.bytes-allocated");
+            if (gcBytesAllocated >= 0 && bytesAllocated >= gcBytesAllocated) {
+                allocatedKbPerSecond = (bytesAllocated - gcBytesAllocated) / 1024 * 1_000_000_000L
+                        / (nowNanos - lastGcRefreshNanos);
+            }
+            gcBytesAllocated = bytesAllocated;
+            lastGcRefreshNanos = nowNanos;
+        }
+        long mean = frameStats.mean();
+
+        int line = 0;
+        lengths[line] = 0;
+        append(line, "FPS ");
+        appendLong(line, mean == 0 ? 0 : 1_000_000_000L / mean);
+        append(line, "  frame p50 ");
+        appendMillis(line, frameStats.percentile(0.5));
+        append(line, " p99 ");
+        appendMillis(line, frameStats.percentile(0.99));
+        append(line, " ms");
+
+        lengths[++line] = 0;
+        append(line, "update p50 ");
+        appendMillis(line, snapshot.updateP50Nanos);
+        append(line, " p99 ");
+        appendMillis(line, snapshot.updateP99Nanos);
+        append(line, " ms");
+
+        lengths[++line] = 0;
+        append(line, "enemies ");
+        appendLong(line, snapshot.enemies.count);
+        append(line, "  bullets ");
+        appendLong(line, snapshot.playerBullets.count);
+        append(line, " / ");
+        appendLong(line, snapshot.enemyBullets.count);
+
+        lengths[++line] = 0;
+        append(line, "gc ");
+        appendLong(line, gcCount);
+        append(line, "  allocated ");
+        appendLong(line, allocatedKbPerSecond);
+        append(line, " KB/s");
+    }
+
+    /**
+     * Read a runtime stat as a number
+     * @param name the name of the stat
+     * @return the stat, or -1 if it isn't available
+     */
+    private static long parseStat(String name) {
+        String value = Debug.getRuntimeStat(name);
+        if (value == null) { return -1; }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Append a constant to a line */
+    private void append(int line, String text) {
+        int length = Math.min(text.length(), lines[line].length - lengths[line]);
+        text.getChars(0, length, lines[line], lengths[line]);
+        lengths[line] += length;
+    }
+
+    /** Append a whole number to a line */
+    private void appendLong(int line, long value) {
+        char[] chars = lines[line];
+        if (value < 0) {
+            if (lengths[line] < chars.length) { chars[lengths[line]++] = '-'; }
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) { digits++; }
+        if (lengths[line] + digits > chars.length) { return; }
+        for (int i = lengths[line] + digits - 1; i >= lengths[line]; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        lengths[line] += digits;
+    }
+
+    /** Append nanoseconds as milliseconds with two decimal places to a line */
+    private void appendMillis(int line, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        appendLong(line, hundredths / 100);
+        append(line, hundredths % 100 < 10 ? ".0" : ".");
+        appendLong(line, hundredths % 100);
+    }
+
+    /**
+     * Write the recorded frame and update times to a file, for looking at them off the device
+     * @param file the file to write to
+     * @param updateStats the update times recorded by the game thread
+     * @throws IOException if the file couldn't be written
+     */
+    void dump(File file, FrameStats updateStats) throws IOException {
+        try (Writer out = new FileWriter(file)) {
+            out.write("# frame nanos\n");
+            frameStats.dump(out);
+            out.write("# update nanos\n");
+            updateStats.dump(out);
+        }
+    }
+}
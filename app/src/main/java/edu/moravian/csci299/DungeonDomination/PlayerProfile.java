@@ -0,0 +1,230 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Color;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Everything saved about the player: coins, weapon upgrades, and settings. The profile is read
+ * from the shared preferences once on a background thread and then kept in memory, so reading it
+ * never touches the disk. Changes are written back in one batch a moment after they are made, and
+ * every value is written in the same commit so coins and upgrades can never be saved out of sync.
+ */
+public class PlayerProfile {
+
+    /** Keys of the values in the shared preferences, these must never change or players lose their saves */
+    private static final String KEY_COINS = "coins", KEY_WEAPON_UPGRADES = "weaponUpgradesPurchased",
+        KEY_DIFFICULTY = "difficulty", KEY_COLOR = "color", KEY_MUSIC_ON = "musicOn",
+        KEY_PERF_HUD_ON = "perfHudOn", KEY_GL_RENDERER_ON = "glRendererOn", KEY_REPLAY_ON = "replayOn";
+
+    /** How long to wait after a change before writing it, so changes made close together are written once */
+    private static final long WRITE_DELAY_MS = 500;
+
+    /** One background thread that reads and writes the profile */
+    private static final ScheduledExecutorService DISK = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PlayerProfile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The profile being loaded or already loaded, or null before the first use */
+    private static Future<PlayerProfile> loading;
+
+    /** Where the profile is saved */
+    private final SharedPreferences sharedPreferences;
+
+    /** The saved values */
+    private int coins, weaponUpgrades, difficulty, color;
+    private boolean musicOn, perfHudOn, glRendererOn, replayOn;
+
+    /** If a write has been scheduled and not done yet */
+    private boolean writeScheduled = false;
+
+    /** Read the profile, only called on the background thread */
+    private PlayerProfile(Context context) {
+        sharedPreferences = context.getSharedPreferences(MainActivity.SHARED_PREF_FILE, Context.MODE_PRIVATE);
+        coins = sharedPreferences.getInt(KEY_COINS, 0);
+        weaponUpgrades = sharedPreferences.getInt(KEY_WEAPON_UPGRADES, 0);
+        difficulty = sharedPreferences.getInt(KEY_DIFFICULTY, 1);
+        color = sharedPreferences.getInt(KEY_COLOR, Color.WHITE);
+        musicOn = sharedPreferences.getBoolean(KEY_MUSIC_ON, true);
+        perfHudOn = sharedPreferences.getBoolean(KEY_PERF_HUD_ON, false);
+        glRendererOn = sharedPreferences.getBoolean(KEY_GL_RENDERER_ON, false);
+        replayOn = sharedPreferences.getBoolean(KEY_REPLAY_ON, false);
+    }
+
+    /**
+     * Start loading the profile on the background thread if it hasn't been already
+     * @param context any context of the app
+     * @return the profile once it is loaded
+     */
+    private static synchronized Future<PlayerProfile> startLoading(Context context) {
+        if (loading == null) {
+            Context app = context.getApplicationContext();
+            loading = DISK.submit(() -> new PlayerProfile(app));
+        }
+        return loading;
+    }
+
+    /**
+     * Load the profile on the background thread and hand it to the main thread once it is loaded
+     * @param context any context of the app
+     * @param onLoaded called on the main thread with the profile
+     */
+    public static void load(Context context, Consumer<PlayerProfile> onLoaded) {
+        Future<PlayerProfile> profile = startLoading(context);
+        Handler main = new Handler(Looper.getMainLooper());
+        DISK.execute(() -> { // runs after the load since the thread runs tasks in order
+            PlayerProfile loaded = getLoaded(profile);
+            main.post(() -> onLoaded.accept(loaded));
+        });
+    }
+
+    /**
+     * Get the profile, waiting for it to load if it hasn't yet. It is loaded as soon as the app
+     * starts, so by the time any other screen asks for it there is no wait.
+     * @param context any context of the app
+     * @return the profile
+     */
+    public static PlayerProfile get(Context context) { return getLoaded(startLoading(context)); }
+
+    /** Wait for a profile to load */
+    private static PlayerProfile getLoaded(Future<PlayerProfile> profile) {
+        try {
+            return profile.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the player profile", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load the player profile", e);
+        }
+    }
+
+    /** Write all of the values soon, along with any other changes made before then */
+    private synchronized void scheduleWrite(long delayMs) {
+        if (writeScheduled && delayMs > 0) { return; } // the scheduled write will pick up this change
+        writeScheduled = true;
+        DISK.schedule(this::write, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Write all of the values in one commit, only called on the background thread */
+    private void write() {
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+        synchronized (this) {
+            if (!writeScheduled) { return; } // an earlier write already saved everything
+            writeScheduled = false;
+            editor.putInt(KEY_COINS, coins)
+                .putInt(KEY_WEAPON_UPGRADES, weaponUpgrades)
+                .putInt(KEY_DIFFICULTY, difficulty)
+                .putInt(KEY_COLOR, color)
+                .putBoolean(KEY_MUSIC_ON, musicOn)
+                .putBoolean(KEY_PERF_HUD_ON, perfHudOn)
+                .putBoolean(KEY_GL_RENDERER_ON, glRendererOn)
+                .putBoolean(KEY_REPLAY_ON, replayOn);
+        }
+        editor.commit(); // already off the main thread, so wait for the disk here
+    }
+
+    /** Write any changes right away, for when the app is leaving the foreground */
+    public void flush() {
+        synchronized (this) {
+            if (!writeScheduled) { return; }
+        }
+        scheduleWrite(0);
+    }
+
+    /** Get the coins the player has */
+    public synchronized int getCoins() { return this.coins; }
+
+    /**
+     * Give the player coins, for example the ones collected in a game
+     * @param amount the number of coins to add
+     */
+    public void addCoins(int amount) {
+        synchronized (this) { coins += amount; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+
+    /** Get the number of weapon upgrades the player has bought */
+    public synchronized int getWeaponUpgrades() { return this.weaponUpgrades; }
+
+    /**
+     * Buy the next weapon upgrade. The coins and the upgrade change together and are written
+     * right away, so the purchase is saved whole or not at all.
+     * @param upgrade the index of the upgrade being bought, which must be the next one
+     * @param cost the coins the upgrade costs
+     * @return true if it was bought, false if it isn't the next upgrade or the player can't afford it
+     */
+    public boolean purchaseUpgrade(int upgrade, int cost) {
+        synchronized (this) {
+            if (weaponUpgrades != upgrade || coins < cost) { return false; }
+            coins -= cost;
+            weaponUpgrades++;
+        }
+        scheduleWrite(0);
+        return true;
+    }
+
+    /** Get the difficulty, which multiplies enemy health and coin value */
+    public synchronized int getDifficulty() { return this.difficulty; }
+
+    /** Set the difficulty */
+    public void setDifficulty(int difficulty) {
+        synchronized (this) { this.difficulty = difficulty; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+
+    /** Get the color of the player */
+    public synchronized int getColor() { return this.color; }
+
+    /** Set the color of the player */
+    public void setColor(int color) {
+        synchronized (this) { this.color = color; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+
+    /** Get whether the music plays */
+    public synchronized boolean isMusicOn() { return this.musicOn; }
+
+    /** Set whether the music plays */
+    public void setMusicOn(boolean musicOn) {
+        synchronized (this) { this.musicOn = musicOn; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+
+    /** Get whether the performance HUD is drawn over games */
+    public synchronized boolean isPerfHudOn() { return this.perfHudOn; }
+
+    /** Set whether the performance HUD is drawn over games */
+    public void setPerfHudOn(boolean perfHudOn) {
+        synchronized (this) { this.perfHudOn = perfHudOn; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+
+    /** Get whether games are drawn with OpenGL instead of a Canvas */
+    public synchronized boolean isGlRendererOn() { return this.glRendererOn; }
+
+    /** Set whether games are drawn with OpenGL instead of a Canvas */
+    public void setGlRendererOn(boolean glRendererOn) {
+        synchronized (this) { this.glRendererOn = glRendererOn; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+
+    /** Get whether the input of each game is recorded for replaying it later */
+    public synchronized boolean isReplayOn() { return this.replayOn; }
+
+    /** Set whether the input of each game is recorded for replaying it later */
+    public void setReplayOn(boolean replayOn) {
+        synchronized (this) { this.replayOn = replayOn; }
+        scheduleWrite(WRITE_DELAY_MS);
+    }
+}
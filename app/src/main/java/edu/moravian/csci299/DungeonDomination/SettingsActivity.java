@@ -3,8 +3,6 @@ package edu.moravian.csci299.DungeonDomination;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.SwitchCompat;
 
-import android.content.Context;
-import android.content.SharedPreferences;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.os.Handler;
@@ -18,12 +16,12 @@ import android.widget.TextView;
  */
 public class SettingsActivity extends AppCompatActivity implements View.OnClickListener, CompoundButton.OnCheckedChangeListener {
 
-    /** Shared preferences */
-    private SharedPreferences sharedPreferences;
+    /** The saved player */
+    private PlayerProfile profile;
     private int currentDifficulty, currentColor;
 
-    /** Music toggle */
-    private SwitchCompat music;
+    /** Music, performance HUD, OpenGL renderer, and replay recording toggles */
+    private SwitchCompat music, perfHud, glRenderer, replay;
 
     /** Easy, medium, and hard mode text views */
     private TextView easy, medium, hard;
@@ -51,13 +49,22 @@ public class SettingsActivity extends AppCompatActivity implements View.OnClickL
         // setup music switch listener
         music = findViewById(R.id.music);
         music.setOnCheckedChangeListener(this);
-
-        // setup shared preferences
-        sharedPreferences = getSharedPreferences(MainActivity.SHARED_PREF_FILE, Context.MODE_PRIVATE);
-        currentDifficulty = sharedPreferences.getInt(getResources().getString(R.string.difficulty), 1);
-        currentColor = sharedPreferences.getInt(getResources().getString(R.string.color), selectedWhite);
-        boolean isPlaying = sharedPreferences.getBoolean(getResources().getString(R.string.musicOn), true);
+        perfHud = findViewById(R.id.perf_hud);
+        glRenderer = findViewById(R.id.gl_renderer);
+        replay = findViewById(R.id.replay);
+
+        // setup the player's profile
+        profile = PlayerProfile.get(this);
+        currentDifficulty = profile.getDifficulty();
+        currentColor = profile.getColor();
+        boolean isPlaying = profile.isMusicOn();
         if (!isPlaying) { music.setChecked(false); }
+        perfHud.setChecked(profile.isPerfHudOn());
+        perfHud.setOnCheckedChangeListener(this);
+        glRenderer.setChecked(profile.isGlRendererOn());
+        glRenderer.setOnCheckedChangeListener(this);
+        replay.setChecked(profile.isReplayOn());
+        replay.setOnCheckedChangeListener(this);
 
         // back button to return to menu activity
         findViewById(R.id.settings_back_button).setOnClickListener(v -> finish());
@@ -109,7 +116,7 @@ public class SettingsActivity extends AppCompatActivity implements View.OnClickL
             updateColorTextView(color, color);
             updateColorTextView(currentColor, unselected);
             currentColor = color;
-            sharedPreferences.edit().putInt(getResources().getString(R.string.color), currentColor).apply();
+            profile.setColor(currentColor);
         }
     }
 
@@ -128,7 +135,7 @@ public class SettingsActivity extends AppCompatActivity implements View.OnClickL
             updateDifficultyTextView(difficulty, selectedDifficulty);
             updateDifficultyTextView(currentDifficulty, unselected);
             currentDifficulty = difficulty;
-            sharedPreferences.edit().putInt(getResources().getString(R.string.difficulty), currentDifficulty).apply();
+            profile.setDifficulty(currentDifficulty);
         }
     }
 
@@ -161,17 +168,37 @@ public class SettingsActivity extends AppCompatActivity implements View.OnClickL
     }
 
     /**
-     * Save the state of the music and start or stop the music from playing
-     * @param buttonView The music switch
-     * @param isChecked Whether or not the music switch is set
+     * Save the state of the music and start or stop the music from playing,
+     * or save whether the performance HUD is shown, OpenGL draws games, and games are recorded
+     * @param buttonView The music, performance HUD, OpenGL renderer, or replay recording switch
+     * @param isChecked Whether or not the switch is set
      */
     @Override
     public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
-        sharedPreferences.edit().putBoolean(getResources().getString(R.string.musicOn), isChecked).apply();
+        if (buttonView.getId() == R.id.perf_hud) {
+            profile.setPerfHudOn(isChecked);
+            return;
+        }
+        if (buttonView.getId() == R.id.gl_renderer) {
+            profile.setGlRendererOn(isChecked);
+            return;
+        }
+        if (buttonView.getId() == R.id.replay) {
+            profile.setReplayOn(isChecked);
+            return;
+        }
+        profile.setMusicOn(isChecked);
         if (isChecked) PlayMusic.playAudio(getApplicationContext());
         else PlayMusic.stopAudio();
     }
 
+    /** Save any changes to the profile right away when leaving the screen */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        profile.flush();
+    }
+
     /** Timeout handler to re-hide the system UI after a delay */
     private final Handler timeoutHandler = new Handler();
     /** The Runnable version of the hideSystemUI() function */
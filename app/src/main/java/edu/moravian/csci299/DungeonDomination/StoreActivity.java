@@ -5,8 +5,6 @@ import androidx.appcompat.app.AppCompatActivity;
 import java.util.List;
 import java.util.Arrays;
 
-import android.content.Context;
-import android.content.SharedPreferences;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.os.Handler;
@@ -37,12 +35,8 @@ public class StoreActivity extends AppCompatActivity implements View.OnClickList
     /** Coin balance */
     private TextView coins;
 
-    /** Shared preferences */
-    private SharedPreferences sharedPreferences;
-
-    /** Stored attributes in the shared preferences */
-    private int weaponUpgradesPurchased;
-    private int coinBalance;
+    /** The saved player */
+    private PlayerProfile profile;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -53,14 +47,13 @@ public class StoreActivity extends AppCompatActivity implements View.OnClickList
         // set background color
         this.getWindow().getDecorView().setBackgroundColor(Color.CYAN);
 
-        // get shared preferences
-        sharedPreferences = getSharedPreferences(MainActivity.SHARED_PREF_FILE, Context.MODE_PRIVATE);
-        coinBalance = sharedPreferences.getInt(getResources().getString(R.string.coins_key), 0);
-        weaponUpgradesPurchased = sharedPreferences.getInt(getResources().getString(R.string.weapon_upgrades),0);
+        // get the player's profile
+        profile = PlayerProfile.get(this);
+        int weaponUpgradesPurchased = profile.getWeaponUpgrades();
 
         // set player's coin balance
         coins = findViewById(R.id.coin_balance);
-        coins.setText(getString(R.string.coin_balance, String.valueOf(coinBalance)));
+        coins.setText(getString(R.string.coin_balance, String.valueOf(profile.getCoins())));
 
         // set background of upgrade icons
         for (Integer id : imageIds) {
@@ -83,36 +76,31 @@ public class StoreActivity extends AppCompatActivity implements View.OnClickList
      */
     @Override
     public void onClick(View v) {
-        int coinsToSubtract = 0;
         int buttonId = v.getId();
-        boolean hasPurchased = false;
-        if (buttonId == R.id.store_back_button) finish();
-        else if (buttonId == R.id.upgrade_1_button) {
-            if (coinBalance >= FIRST_UPGRADE && weaponUpgradesPurchased == 0) {
-                coinsToSubtract = FIRST_UPGRADE;
-                hasPurchased = true;
-            }
+        boolean hasPurchased;
+        if (buttonId == R.id.store_back_button) {
+            finish();
+            return;
+        } else if (buttonId == R.id.upgrade_1_button) {
+            hasPurchased = profile.purchaseUpgrade(0, FIRST_UPGRADE);
         } else if (buttonId == R.id.upgrade_2_button) {
-            if (coinBalance >= SECOND_UPGRADE && weaponUpgradesPurchased == 1) {
-                coinsToSubtract = SECOND_UPGRADE;
-                hasPurchased = true;
-            }
+            hasPurchased = profile.purchaseUpgrade(1, SECOND_UPGRADE);
         } else {
-            if (coinBalance >= THIRD_UPGRADE && weaponUpgradesPurchased == 2) {
-                coinsToSubtract = THIRD_UPGRADE;
-                hasPurchased = true;
-            }
+            hasPurchased = profile.purchaseUpgrade(2, THIRD_UPGRADE);
         }
         if (hasPurchased) {
-            coinBalance -= coinsToSubtract;
-            weaponUpgradesPurchased++;
             ((Button)findViewById(buttonId)).setText(R.string.upgrade_purchased);
-            coins.setText(getString(R.string.coin_balance, String.valueOf(coinBalance)));
-            sharedPreferences.edit().putInt(getResources().getString(R.string.coins_key), coinBalance).apply();
-            sharedPreferences.edit().putInt(getResources().getString(R.string.weapon_upgrades), weaponUpgradesPurchased).apply();
+            coins.setText(getString(R.string.coin_balance, String.valueOf(profile.getCoins())));
         }
     }
 
+    /** Save any changes to the profile right away when leaving the screen */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        profile.flush();
+    }
+
     /** Timeout handler to re-hide the system UI after a delay */
     private final Handler timeoutHandler = new Handler();
     /** The Runnable version of the hideSystemUI() function */
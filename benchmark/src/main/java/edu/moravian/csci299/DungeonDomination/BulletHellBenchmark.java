@@ -0,0 +1,32 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The time one tick of a bullet hell game takes with thousands of bullets in the air. The game
+ * holds 60 fps as long as a tick, plus drawing, fits in the 16.7 ms between frames, so the result
+ * is in milliseconds to compare against that directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulletHellBenchmark {
+
+    /** A whole tick through Game.update() at the scenario's bullet count */
+    @Benchmark
+    public boolean update(BulletHellScenario scenario) {
+        boolean running = scenario.game.update();
+        scenario.refill();
+        return running;
+    }
+}
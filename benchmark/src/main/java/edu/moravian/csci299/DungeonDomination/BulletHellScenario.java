@@ -0,0 +1,99 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A bullet hell game held at its peak: the most enemies a BULLET_HELL room has, each firing its
+ * pattern, the player holding down the spread gun, and the enemy bullets topped back up to a
+ * chosen count after every tick. The game is seeded so every run plays in the same room with the
+ * same obstacles. Nobody is allowed to die, so every tick does the same amount of work.
+ */
+@State(Scope.Thread)
+public class BulletHellScenario {
+
+    /** Size of the room, in px */
+    public static final int WIDTH = 1920, HEIGHT = 1080;
+
+    /** Seed of the game and of the random numbers placing enemies and bullets */
+    private static final long SEED = 7;
+
+    /** Enemies closer than this to the player are moved away so the game never ends */
+    private static final float SAFE_DISTANCE = 300f;
+
+    /** Health the player is given back after every tick, more than a tick of bullets can take */
+    private static final int PLAYER_HEALTH = 1_000_000;
+
+    @Param({"1000", "2500", "5000"})
+    public int bulletCount;
+
+    /** The game, the room being played, and the player */
+    public Game game;
+    public Room room;
+    public Player player;
+
+    /** Random numbers for placing enemies and bullets */
+    private Random random;
+
+    /** Start the game and fill the first room with enemies up to the most a room can have */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        random = new Random(SEED);
+        game = new Game(SEED);
+        game.startGame(WIDTH, HEIGHT, 5, 1, GameMode.BULLET_HELL);
+        room = game.getCurrentRoom();
+        player = game.getPlayer();
+        RoomSettings settings = RoomSettings.BULLET_HELL;
+        while (room.getNumEnemies() < settings.getMaxEnemies()) {
+            Enemy enemy = new Enemy(openLocationFarFromPlayer(Room.ENEMY_RADIUS), new Weapon(settings.getEnemyDamage()),
+                100, Room.ENEMY_RADIUS, 1);
+            enemy.setPattern(settings.getPattern(room.getNumEnemies() % settings.getNumPatterns()));
+            room.addEnemy(enemy);
+        }
+        Vector2 target = room.getEnemies().get(0).getLocation();
+        game.pointerDown(0, target.x, target.y);
+        refill();
+    }
+
+    /** Put the scenario back to the chosen number of enemy bullets with everybody alive */
+    public void refill() {
+        player.setHealth(PLAYER_HEALTH);
+        Vector2 playerLocation = player.getLocation();
+        List<Enemy> enemies = room.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            enemy.setHealth(enemy.getInitialHealth());
+            if (Util.withinRange(enemy.getLocation(), playerLocation, SAFE_DISTANCE)) {
+                Vector2 far = openLocationFarFromPlayer(enemy.getRadius());
+                enemy.placeAt(far.x, far.y);
+            }
+        }
+
+        // rings of bullets from random points stand in for bullets fired a while ago and still in the air
+        BulletStore enemyBullets = room.getEnemyBullets();
+        Enemy shooter = enemies.get(0);
+        while (enemyBullets.size() < bulletCount) {
+            Vector2 from = openLocationFarFromPlayer(BulletStore.RADIUS);
+            enemyBullets.spawnFan(from.x, from.y, 1, 0, RoomSettings.BULLET_HELL.getRingFan(),
+                (float) shooter.getBulletSpeed(), shooter.getWeapon().getDamage(), BulletStore.UNLIMITED_LIFETIME, 0);
+        }
+    }
+
+    /** Pick a random location not close to the player where a circle doesn't overlap an obstacle */
+    private Vector2 openLocationFarFromPlayer(float radius) {
+        Vector2 playerLocation = player.getLocation();
+        TileMap tiles = room.getTiles();
+        Vector2 location = new Vector2();
+        do {
+            location.set(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+        } while (Util.withinRange(location, playerLocation, SAFE_DISTANCE)
+            || tiles.overlapsCircle(location.x, location.y, radius * Game.DP_TO_PX_FACTOR));
+        return location;
+    }
+}
@@ -0,0 +1,63 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of one game tick and of each part of it. Every benchmark runs one tick's worth of work
+ * on a Scenario and then refills the scenario, so the refill is part of every measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    /** A whole tick through Game.update() */
+    @Benchmark
+    public boolean update(Scenario scenario) {
+        boolean running = scenario.game.update();
+        scenario.refill();
+        return running;
+    }
+
+    /** Moving the player's bullets and checking them against the enemies */
+    @Benchmark
+    public void movePlayerBullets(Scenario scenario) {
+        scenario.room.movePlayerBullets();
+        scenario.refill();
+    }
+
+    /** Moving the enemies' bullets and checking them against the player */
+    @Benchmark
+    public void moveEnemyBullets(Scenario scenario) {
+        scenario.room.moveEnemyBullets(scenario.player);
+        scenario.refill();
+    }
+
+    /** Steering the enemies towards the player, moving them, and letting them fire */
+    @Benchmark
+    public void moveEnemies(Scenario scenario) {
+        scenario.room.moveEnemies(scenario.player);
+        scenario.refill();
+    }
+
+    /** Character.move for every enemy */
+    @Benchmark
+    public void characterMove(Scenario scenario) {
+        List<Enemy> enemies = scenario.room.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).move();
+        }
+        scenario.refill();
+    }
+}
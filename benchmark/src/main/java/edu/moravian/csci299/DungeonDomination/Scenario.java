@@ -0,0 +1,108 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A game with a chosen number of enemies and bullets that is kept the same from tick to tick,
+ * so every benchmark invocation measures the same amount of work. The game is seeded and its room
+ * has no obstacles, so every run plays in the same room. After each tick enemies that
+ * got close to the player or left the room are moved, health is restored, and bullets that left
+ * the room are replaced.
+ */
+@State(Scope.Thread)
+public class Scenario {
+
+    /** Size of the room, in px */
+    public static final int WIDTH = 1920, HEIGHT = 1080;
+
+    /** Seed of the game and of the random numbers placing enemies and bullets */
+    private static final long SEED = 42;
+
+    /** The adventure settings without obstacles, so enemies and bullets can be put anywhere */
+    private static final RoomSettings OPEN = RoomSettings.ADVENTURE.withObstacles(0);
+
+    /** Enemies closer than this to the player are moved away so the game never ends */
+    private static final float SAFE_DISTANCE = 300f;
+
+    @Param({"1", "10", "100"})
+    public int enemyCount;
+
+    @Param({"10", "100", "1000"})
+    public int bulletCount;
+
+    @Param({"false", "true"})
+    public boolean boss;
+
+    @Param({"1", "3"})
+    public int multiplier;
+
+    /** The game, the room being played, and the player */
+    public Game game;
+    public Room room;
+    public Player player;
+
+    /** Random numbers for placing enemies and bullets, seeded so every run is the same */
+    private Random random;
+
+    /** Create the game and fill the first room with the chosen enemies and bullets */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        random = new Random(SEED);
+        game = new Game(SEED);
+        game.startGame(WIDTH, HEIGHT, 5, multiplier, GameMode.ADVENTURE, OPEN);
+        room = game.getCurrentRoom();
+        player = game.getPlayer();
+        room.getEnemies().clear();
+        if (boss) {
+            room.addEnemy(new Enemy(farFromPlayer(), new Weapon(20), 500*multiplier, Room.BOSS_RADIUS, 25*multiplier));
+        }
+        refill();
+    }
+
+    /** Put the scenario back to the chosen number of enemies and bullets */
+    public void refill() {
+        player.setHealth(100);
+        Vector2 playerLocation = player.getLocation();
+        List<Enemy> enemies = room.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            enemy.setHealth(enemy.getInitialHealth());
+            Vector2 location = enemy.getLocation();
+            if (Util.withinRange(location, playerLocation, SAFE_DISTANCE)
+                    || location.x < 0 || location.y < 0 || location.x >= WIDTH || location.y >= HEIGHT) {
+                Vector2 far = farFromPlayer();
+                location.set(far.x, far.y);
+            }
+        }
+        while (room.getNumEnemies() < enemyCount) {
+            room.addEnemy(new Enemy(farFromPlayer(), new Weapon(5), 100*multiplier, Room.ENEMY_RADIUS, multiplier));
+        }
+
+        BulletStore playerBullets = room.getPlayerBullets();
+        while (playerBullets.size() < bulletCount / 2) {
+            room.spawnBullet(random.nextInt(WIDTH), random.nextInt(HEIGHT), player, playerBullets);
+        }
+        BulletStore enemyBullets = room.getEnemyBullets();
+        while (enemyBullets.size() < bulletCount - bulletCount / 2) {
+            Enemy enemy = enemies.get(random.nextInt(enemies.size()));
+            room.spawnBullet(random.nextInt(WIDTH), random.nextInt(HEIGHT), enemy, enemyBullets);
+        }
+    }
+
+    /** Pick a random location that is not close to the player */
+    private Vector2 farFromPlayer() {
+        Vector2 playerLocation = player.getLocation();
+        Vector2 location = new Vector2();
+        do {
+            location.set(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+        } while (Util.withinRange(location, playerLocation, SAFE_DISTANCE));
+        return location;
+    }
+}
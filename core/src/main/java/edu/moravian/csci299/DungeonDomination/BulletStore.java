@@ -0,0 +1,264 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.Arrays;
+
+/**
+ * All of the bullets fired by one side in a room. Bullets are stored as parallel primitive arrays
+ * instead of objects, and removed by swapping the last bullet into their place, so once the arrays
+ * are large enough spawning, moving, and removing bullets never allocates.
+ */
+public class BulletStore {
+
+    /** Size of a bullet */
+    public static final float RADIUS = 20f;
+
+    /** Lifetime of a bullet that lasts until it hits something or leaves the room */
+    public static final int UNLIMITED_LIFETIME = -1;
+
+    /** Most enemies a bullet can pass through, so the ids of the ones it passed through fit in a fixed number of slots */
+    public static final int MAX_PIERCE = 4;
+
+    /** Location before the last move, current location, and velocity in dp/tick of each bullet */
+    private float[] previousX, previousY, x, y, velocityX, velocityY;
+
+    /** The damage each bullet does */
+    private int[] damage;
+
+    /** Ticks each bullet has left before it disappears, or UNLIMITED_LIFETIME */
+    private int[] ticksLeft;
+
+    /** If each bullet hit a character */
+    private boolean[] hit;
+
+    /** Enemies each bullet can still pass through, and the number it passed through already */
+    private int[] pierceLeft, numPassed;
+
+    /** The ids of the enemies each bullet passed through, MAX_PIERCE slots per bullet */
+    private int[] passedIds;
+
+    /** The number of bullets */
+    private int count = 0;
+
+    /** Create an empty store of bullets */
+    public BulletStore() { allocate(16); }
+
+    /** Make all of the arrays the given length, keeping the bullets in them */
+    private void allocate(int capacity) {
+        previousX = previousX == null ? new float[capacity] : Arrays.copyOf(previousX, capacity);
+        previousY = previousY == null ? new float[capacity] : Arrays.copyOf(previousY, capacity);
+        x = x == null ? new float[capacity] : Arrays.copyOf(x, capacity);
+        y = y == null ? new float[capacity] : Arrays.copyOf(y, capacity);
+        velocityX = velocityX == null ? new float[capacity] : Arrays.copyOf(velocityX, capacity);
+        velocityY = velocityY == null ? new float[capacity] : Arrays.copyOf(velocityY, capacity);
+        damage = damage == null ? new int[capacity] : Arrays.copyOf(damage, capacity);
+        ticksLeft = ticksLeft == null ? new int[capacity] : Arrays.copyOf(ticksLeft, capacity);
+        hit = hit == null ? new boolean[capacity] : Arrays.copyOf(hit, capacity);
+        pierceLeft = pierceLeft == null ? new int[capacity] : Arrays.copyOf(pierceLeft, capacity);
+        numPassed = numPassed == null ? new int[capacity] : Arrays.copyOf(numPassed, capacity);
+        passedIds = passedIds == null ? new int[capacity * MAX_PIERCE] : Arrays.copyOf(passedIds, capacity * MAX_PIERCE);
+    }
+
+    /**
+     * Add a bullet that lasts until it hits something or leaves the room
+     * @param x the x coordinate to start at
+     * @param y the y coordinate to start at
+     * @param velocityX the distance moved in the x direction each tick, in dp
+     * @param velocityY the distance moved in the y direction each tick, in dp
+     * @param damage how much damage the bullet does
+     * @return the index of the new bullet
+     */
+    public int spawn(float x, float y, float velocityX, float velocityY, int damage) {
+        return spawn(x, y, velocityX, velocityY, damage, UNLIMITED_LIFETIME, 0);
+    }
+
+    /**
+     * Add a bullet
+     * @param x the x coordinate to start at
+     * @param y the y coordinate to start at
+     * @param velocityX the distance moved in the x direction each tick, in dp
+     * @param velocityY the distance moved in the y direction each tick, in dp
+     * @param damage how much damage the bullet does
+     * @param lifetime the number of ticks the bullet lasts, or UNLIMITED_LIFETIME
+     * @param pierce how many enemies the bullet passes through before it stops, at most MAX_PIERCE
+     * @return the index of the new bullet
+     */
+    public int spawn(float x, float y, float velocityX, float velocityY, int damage, int lifetime, int pierce) {
+        if (count == this.x.length) { allocate(count * 2); }
+        int i = count++;
+        set(i, x, y, velocityX, velocityY, damage, lifetime, pierce);
+        return i;
+    }
+
+    /**
+     * Add a fan of bullets, all starting at the same point. Each bullet's direction is the one
+     * before it rotated by the fan's step, so no angles are worked with. The arrays are grown once
+     * for the whole fan instead of once per bullet.
+     * @param x the x coordinate to start at
+     * @param y the y coordinate to start at
+     * @param aimX the x part of the unit vector the fan is aimed along
+     * @param aimY the y part of the unit vector the fan is aimed along
+     * @param fan the directions of the bullets relative to the aim
+     * @param speed the distance each bullet moves each tick, in dp
+     * @param damage how much damage each bullet does
+     * @param lifetime the number of ticks each bullet lasts, or UNLIMITED_LIFETIME
+     * @param pierce how many enemies each bullet passes through before it stops, at most MAX_PIERCE
+     */
+    public void spawnFan(float x, float y, float aimX, float aimY, Fan fan, float speed, int damage, int lifetime, int pierce) {
+        int number = fan.getCount();
+        if (count + number > this.x.length) { allocate(Math.max(count * 2, count + number)); }
+        final float stepCos = fan.getStepCos(), stepSin = fan.getStepSin();
+        float directionX = aimX * fan.getStartCos() - aimY * fan.getStartSin();
+        float directionY = aimX * fan.getStartSin() + aimY * fan.getStartCos();
+        for (int k = 0; k < number; k++) {
+            set(count++, x, y, directionX * speed, directionY * speed, damage, lifetime, pierce);
+            float nextX = directionX * stepCos - directionY * stepSin;
+            directionY = directionX * stepSin + directionY * stepCos;
+            directionX = nextX;
+        }
+    }
+
+    /** Set every value of the bullet at an index */
+    private void set(int i, float x, float y, float velocityX, float velocityY, int damage, int lifetime, int pierce) {
+        this.previousX[i] = this.x[i] = x;
+        this.previousY[i] = this.y[i] = y;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.damage[i] = damage;
+        this.ticksLeft[i] = lifetime;
+        this.hit[i] = false;
+        this.pierceLeft[i] = Math.min(pierce, MAX_PIERCE);
+        this.numPassed[i] = 0;
+    }
+
+    /** Move every bullet by its velocity and count down their lifetimes */
+    public void move() {
+        final float factor = Game.DP_TO_PX_FACTOR;
+        for (int i = 0; i < count; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            x[i] += velocityX[i] * factor;
+            y[i] += velocityY[i] * factor;
+            if (ticksLeft[i] > 0) { ticksLeft[i]--; }
+        }
+    }
+
+    /**
+     * Stop every bullet that ran into a blocked tile where it reached the tile and mark it as hit,
+     * so it is removed by the next removeFinished. The whole path each bullet moved along this tick
+     * is checked with the bullet's radius, so fast bullets can't clip the corner of an obstacle or
+     * pass through one. A stopped bullet's path this tick then ends at the obstacle, so it still
+     * hits characters in front of the obstacle but not ones behind it.
+     * @param tiles the obstacles of the room
+     */
+    public void stopAtTiles(TileMap tiles) {
+        if (tiles.getNumBlocked() == 0) { return; }
+        final float radius = RADIUS * Game.DP_TO_PX_FACTOR;
+        for (int i = 0; i < count; i++) {
+            float time = tiles.timeOfImpact(previousX[i], previousY[i], x[i], y[i], radius);
+            if (time >= 0) {
+                x[i] = previousX[i] + (x[i] - previousX[i]) * time;
+                y[i] = previousY[i] + (y[i] - previousY[i]) * time;
+                hit[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Remove all bullets that hit a character, ran out of lifetime, or are completely outside of
+     * the room, moving the last bullets into their places
+     * @param width the width of the room
+     * @param height the height of the room
+     */
+    public void removeFinished(int width, int height) {
+        final float radius = RADIUS * Game.DP_TO_PX_FACTOR;
+        int i = 0;
+        while (i < count) {
+            if (hit[i] || ticksLeft[i] == 0 || x[i] < -radius || y[i] < -radius
+                    || x[i] > width + radius || y[i] > height + radius) {
+                count--;
+                copy(count, i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /** Copy the bullet at index from into index to */
+    private void copy(int from, int to) {
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        velocityX[to] = velocityX[from];
+        velocityY[to] = velocityY[from];
+        damage[to] = damage[from];
+        ticksLeft[to] = ticksLeft[from];
+        hit[to] = hit[from];
+        pierceLeft[to] = pierceLeft[from];
+        numPassed[to] = numPassed[from];
+        System.arraycopy(passedIds, from * MAX_PIERCE, passedIds, to * MAX_PIERCE, numPassed[from]);
+    }
+
+    /**
+     * Make room for at least the given number of bullets, so spawning up to that many never allocates
+     * @param capacity the number of bullets to make room for
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > this.x.length) { allocate(capacity); }
+    }
+
+    /** Get the number of bullets there is room for before the arrays have to grow */
+    public int capacity() { return this.x.length; }
+
+    /** Get the number of bullets */
+    public int size() { return this.count; }
+
+    /** Get the x coordinate of a bullet */
+    public float getX(int i) { return this.x[i]; }
+
+    /** Get the y coordinate of a bullet */
+    public float getY(int i) { return this.y[i]; }
+
+    /** Get the x coordinate of a bullet before it last moved */
+    public float getPreviousX(int i) { return this.previousX[i]; }
+
+    /** Get the y coordinate of a bullet before it last moved */
+    public float getPreviousY(int i) { return this.previousY[i]; }
+
+    /** Get the damage of a bullet */
+    public int getDamage(int i) { return this.damage[i]; }
+
+    /** Get whether a bullet hit a character */
+    public boolean getHit(int i) { return this.hit[i]; }
+
+    /** Mark a bullet as having hit a character, it is removed by the next removeFinished */
+    public void setHit(int i) { this.hit[i] = true; }
+
+    /**
+     * A bullet hit an enemy. It passes through the enemy if it can still pierce, otherwise it is
+     * marked as hit and removed by the next removeFinished.
+     * @param i the index of the bullet
+     * @param enemyId the id of the enemy hit, which the bullet then can't hit again
+     * @return true if the bullet passed through the enemy and can hit more enemies
+     */
+    public boolean hitEnemy(int i, int enemyId) {
+        if (pierceLeft[i] > 0) {
+            pierceLeft[i]--;
+            passedIds[i * MAX_PIERCE + numPassed[i]++] = enemyId;
+            return true;
+        }
+        hit[i] = true;
+        return false;
+    }
+
+    /**
+     * Get the ids of the enemies a bullet passed through
+     * @param i the index of the bullet
+     * @param ids where to write the ids, with room for at least MAX_PIERCE
+     * @return the number of ids written
+     */
+    public int getPassedThrough(int i, int[] ids) {
+        System.arraycopy(passedIds, i * MAX_PIERCE, ids, 0, numPassed[i]);
+        return numPassed[i];
+    }
+}
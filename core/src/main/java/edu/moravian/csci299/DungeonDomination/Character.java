@@ -0,0 +1,162 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * The parent class for Player and Enemy. Contains most attributes for each class 
+ * and provides the move method
+ */
+public class Character {
+
+    protected Vector2 location; // location in the room
+    protected final Weapon weapon; // their weapon
+    protected int health; // current health
+    protected float directionX = 1f, directionY = 0f; // unit vector of the direction they're moving
+    protected double speed; // speed they're moving
+    protected double bulletSpeed; // speed their bullet travels
+    protected float radius; // their radius
+    protected float previousX, previousY; // location before the last move, for interpolation
+    protected int id = -1; // identifies the character within its room, so a bullet knows which one it passed through
+    
+    /**
+     * Create the player with the given initial position.
+     * @param location the initial position
+     * @param weapon player's current weapon
+     * @param health player's starting health
+     * @param radius The radius of the character, defining the hit box
+     * @param speed How quickly the character moves on the screen
+     * @param bulletSpeed The speed of the bullet fired by this character
+     */
+     public Character(Vector2 location, Weapon weapon, int health, float radius, double speed, double bulletSpeed) {
+        this.location = location;
+        this.previousX = location.x;
+        this.previousY = location.y;
+        this.weapon = weapon;
+        this.health = health;
+        this.radius = radius;
+        this.speed = speed;
+        this.bulletSpeed = bulletSpeed;
+    }
+    
+    /** Set character's location, without interpolating from the old location */
+    public void setLocation(Vector2 location) {
+        this.location = location;
+        this.previousX = location.x;
+        this.previousY = location.y;
+    }
+    
+    /** Get character's current location */
+    public Vector2 getLocation() { return this.location; }
+
+    /**
+     * Get the x coordinate between the location before the last move and the current location
+     * @param alpha how far from the previous location to the current one, from 0 to 1
+     */
+    public float getInterpolatedX(float alpha) { return previousX + (location.x - previousX) * alpha; }
+
+    /**
+     * Get the y coordinate between the location before the last move and the current location
+     * @param alpha how far from the previous location to the current one, from 0 to 1
+     */
+    public float getInterpolatedY(float alpha) { return previousY + (location.y - previousY) * alpha; }
+
+    /**
+     * Set their direction from an angle
+     * @param direction the angle to move at, in radians
+     */
+    public void setDirection(double direction) {
+        this.directionX = (float) Math.cos(direction);
+        this.directionY = (float) Math.sin(direction);
+    }
+
+    /**
+     * Set their direction towards a point relative to them. Nothing changes if the point is
+     * the zero vector since it has no direction.
+     * @param dx the distance to the point in the x direction
+     * @param dy the distance to the point in the y direction
+     */
+    public void setDirection(float dx, float dy) {
+        float length = (float) Math.sqrt(dx*dx + dy*dy);
+        if (length > 0) {
+            this.directionX = dx / length;
+            this.directionY = dy / length;
+        }
+    }
+
+    /** Get the radius of the character */
+    public float getRadius() { return this.radius; }
+
+    /** Get the character's remaining health */
+    public int getHealth() { return this.health; }
+
+    /** Set the character's health */
+    public void setHealth(int health) { this.health = health; }
+
+    /** Decrease the health of a character */
+    public void decreaseHealth(int nerf) { this.health -= nerf; }
+    
+    /** Get the character's equipped weapon */
+    public Weapon getWeapon() { return this.weapon; }
+    
+    /** Get the character's bullet speed, which is their weapon's if it has one */
+    public double getBulletSpeed() {
+        return this.weapon.getSpeed() == Weapon.CHARACTER_SPEED ? this.bulletSpeed : this.weapon.getSpeed();
+    }
+
+    /** Get the id of the character within its room, or -1 if it hasn't been given one */
+    public int getId() { return this.id; }
+
+    /** Set the id of the character within its room */
+    public void setId(int id) { this.id = id; }
+
+    /**
+     * Checks if the player is "out of bounds" of a rectangle that goes
+     * from 0,0 to the given width and height.
+     * @param width the width of the bounds in px
+     * @param height the height of the bounds in px
+     * @return true if the player is out of bounds
+     */
+    public boolean isOutOfBounds(int width, int height) {
+        Vector2 player = this.location;
+        return player.x < radius || player.y < radius
+                    || player.x >= width - radius || player.y >= height - radius;
+    }
+
+    /**
+     * Move the character its speed in the direction it is facing
+     */
+    public void move() {
+        previousX = location.x;
+        previousY = location.y;
+        float distance = (float) (this.speed * Game.DP_TO_PX_FACTOR);
+        this.location.offset(directionX * distance, directionY * distance);
+    }
+
+    /**
+     * Move the character in its direction without going into an obstacle. Each axis is moved
+     * separately, so running into an obstacle at an angle slides along it. A character already
+     * overlapping an obstacle, for example one placed there from outside the room, can move freely
+     * until it is out.
+     * @param tiles the obstacles of the room
+     */
+    public void move(TileMap tiles) {
+        move();
+        float r = this.radius * Game.DP_TO_PX_FACTOR;
+        if (tiles.overlapsCircle(location.x, previousY, r) && !tiles.overlapsCircle(previousX, previousY, r)) {
+            location.x = previousX;
+        }
+        if (tiles.overlapsCircle(location.x, location.y, r) && !tiles.overlapsCircle(location.x, previousY, r)) {
+            location.y = previousY;
+        }
+    }
+
+    /**
+     * Put the character at a point, without interpolating from the old location. The location is
+     * changed in place rather than replaced.
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    public void placeAt(float x, float y) {
+        this.location.set(x, y);
+        this.previousX = x;
+        this.previousY = y;
+    }
+}
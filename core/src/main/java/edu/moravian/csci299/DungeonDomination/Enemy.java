@@ -0,0 +1,70 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * Enemies are around the same size as the player, except for the boss.
+ * Enemies move slightly slower than the player and also fire bullets at the player occasionally.
+ * Enemies give coins to the player if they are defeated.
+ */
+public class Enemy extends Character {
+
+    /** Speed that the enemy move when drawing it and the enemies bullet speed */
+    private static final double SPEED = 2.0;
+    private static final double BULLET_SPEED = 15.0;
+
+    /** Amount of coins the player received from killing this enemy */
+    private final int coinValue;
+    
+    /** The starting health for the enemy */
+    private final int initialHealth;
+
+    /** The shape of bullets the enemy fires, and the unit vector a spiral is at */
+    private FirePattern pattern = FirePattern.AIMED;
+    private float fireDirectionX = 1, fireDirectionY = 0;
+    
+    /**
+     * Create an enemy with the given initial position and health, a weapon, and the dpToPxFactor.
+     *
+     * @param location the initial position
+     * @param weapon enemy's weapon
+     * @param health enemy's starting health
+     * @param radius the hit box of an enemy
+     * @param coinValue The amount of coins this enemy gives to the player when it dies
+     */
+    public Enemy(Vector2 location, Weapon weapon, int health, float radius, int coinValue) {
+        super(location, weapon, health, radius, SPEED, BULLET_SPEED);
+        this.initialHealth = health;
+        this.coinValue = coinValue;
+    }
+
+    /** Get the initial health of the enemy */
+    public int getInitialHealth() { return this.initialHealth; }
+    
+    /** Get the value of coins the enemy is worth when defeated */
+    public int getCoinValue() { return this.coinValue; }
+
+    /** Get the shape of bullets the enemy fires */
+    public FirePattern getPattern() { return this.pattern; }
+
+    /** Set the shape of bullets the enemy fires */
+    public void setPattern(FirePattern pattern) { this.pattern = pattern; }
+
+    /** Get the x part of the unit vector the enemy's spiral is at */
+    public float getFireDirectionX() { return this.fireDirectionX; }
+
+    /** Get the y part of the unit vector the enemy's spiral is at */
+    public float getFireDirectionY() { return this.fireDirectionY; }
+
+    /**
+     * Turn the enemy's spiral by an angle. The direction is scaled back to a unit vector so rounding
+     * errors don't build up over many turns.
+     * @param cos the cosine of the angle
+     * @param sin the sine of the angle
+     */
+    public void turnFireDirection(float cos, float sin) {
+        float x = fireDirectionX * cos - fireDirectionY * sin;
+        float y = fireDirectionX * sin + fireDirectionY * cos;
+        float length = (float) Math.sqrt(x*x + y*y);
+        fireDirectionX = x / length;
+        fireDirectionY = y / length;
+    }
+}
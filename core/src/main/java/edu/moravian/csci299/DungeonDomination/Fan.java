@@ -0,0 +1,65 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * The directions of the bullets of one shot, relative to the direction the shot is aimed in. The
+ * first bullet is turned from the aim by a start angle and each bullet after it by a step angle.
+ * The cosines and sines of the two angles are worked out once when the fan is made, so firing a
+ * shot only rotates the aim vector by them and never works with angles.
+ */
+public class Fan {
+
+    /** A single bullet straight along the aim */
+    public static final Fan SINGLE = new Fan(1, 0, 0);
+
+    /** The number of bullets */
+    private final int count;
+
+    /** Cosine and sine of the angle from the aim to the first bullet and of the angle between bullets */
+    private final float startCos, startSin, stepCos, stepSin;
+
+    /**
+     * Create a fan of bullets
+     * @param count the number of bullets, at least 1
+     * @param start the angle from the aim to the first bullet, in radians
+     * @param step the angle between bullets, in radians
+     */
+    public Fan(int count, double start, double step) {
+        this.count = Math.max(1, count);
+        this.startCos = (float) Math.cos(start);
+        this.startSin = (float) Math.sin(start);
+        this.stepCos = (float) Math.cos(step);
+        this.stepSin = (float) Math.sin(step);
+    }
+
+    /**
+     * Get a fan of bullets spread evenly across an angle centered on the aim
+     * @param count the number of bullets, a single bullet goes straight along the aim
+     * @param angle the angle covered, in radians
+     * @return the fan
+     */
+    public static Fan across(int count, double angle) {
+        return count > 1 ? new Fan(count, -angle / 2, angle / (count - 1)) : SINGLE;
+    }
+
+    /**
+     * Get a fan of bullets spread evenly all the way around, the first one along the aim
+     * @param count the number of bullets
+     * @return the fan
+     */
+    public static Fan around(int count) { return new Fan(count, 0, 2 * Math.PI / Math.max(1, count)); }
+
+    /** Get the number of bullets */
+    public int getCount() { return this.count; }
+
+    /** Get the cosine of the angle from the aim to the first bullet */
+    public float getStartCos() { return this.startCos; }
+
+    /** Get the sine of the angle from the aim to the first bullet */
+    public float getStartSin() { return this.startSin; }
+
+    /** Get the cosine of the angle between bullets */
+    public float getStepCos() { return this.stepCos; }
+
+    /** Get the sine of the angle between bullets */
+    public float getStepSin() { return this.stepSin; }
+}
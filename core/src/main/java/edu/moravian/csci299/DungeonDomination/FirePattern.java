@@ -0,0 +1,19 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * The shapes of bullets an enemy can fire each time it shoots
+ */
+public enum FirePattern {
+
+    /** One bullet straight at the player */
+    AIMED,
+
+    /** A fan of bullets centered on the player */
+    SPREAD,
+
+    /** Bullets evenly spaced in every direction */
+    RING,
+
+    /** A few evenly spaced bullets that turn a little further every shot */
+    SPIRAL
+}
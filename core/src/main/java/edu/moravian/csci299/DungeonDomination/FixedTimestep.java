@@ -0,0 +1,73 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * Runs a game tick at a fixed number of ticks per second no matter how often frames are drawn.
+ * Elapsed wall-clock time is collected in an accumulator and spent one tick at a time, so a
+ * 120 Hz display and a 60 Hz display simulate the game at the same speed.
+ */
+public class FixedTimestep {
+
+    /** Number of simulation ticks per second. Every speed in the game is in dp/tick at this rate */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /** Length of one simulation tick, in nanoseconds */
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    /** Most ticks that will be run to catch up in one call to advance */
+    public static final int MAX_TICKS_PER_ADVANCE = 5;
+
+    /** Runs one tick of the game */
+    private final Runnable tick;
+
+    /** Time not yet simulated, in nanoseconds */
+    private long accumulator = 0;
+
+    /** The time advance was last called, or -1 if it has never been called */
+    private long lastTime = -1;
+
+    /** How far between the last tick and the next one the current time is, from 0 to 1 */
+    private float alpha = 0f;
+
+    /**
+     * Create a fixed timestep for a game
+     * @param tick runs one tick of the game, usually by calling Game.update()
+     */
+    public FixedTimestep(Runnable tick) { this.tick = tick; }
+
+    /**
+     * Run as many ticks as the time since the last call allows. If more than
+     * MAX_TICKS_PER_ADVANCE ticks are owed the rest are dropped, which slows the game down
+     * instead of letting it fall further and further behind.
+     * @param nowNanos the current time, in nanoseconds
+     * @return the interpolation alpha between the previous and the current tick
+     */
+    public float advance(long nowNanos) {
+        if (lastTime < 0) { lastTime = nowNanos; }
+        accumulator += nowNanos - lastTime;
+        lastTime = nowNanos;
+
+        int ticks = 0;
+        while (accumulator >= TICK_NANOS && ticks < MAX_TICKS_PER_ADVANCE) {
+            tick.run();
+            accumulator -= TICK_NANOS;
+            ticks++;
+        }
+        if (accumulator >= TICK_NANOS) { accumulator %= TICK_NANOS; } // drop the ticks we could not run
+
+        alpha = (float) accumulator / TICK_NANOS;
+        return alpha;
+    }
+
+    /**
+     * Get the interpolation alpha from the last call to advance
+     * @return value from 0 to 1 of how far the current time is towards the next tick
+     */
+    public float getAlpha() { return this.alpha; }
+
+    /** Forget any accumulated time, for example after the game was paused */
+    public void reset() {
+        accumulator = 0;
+        lastTime = -1;
+        alpha = 0f;
+    }
+}
@@ -0,0 +1,222 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.Arrays;
+
+/**
+ * A map over a coarse grid of the room saying which way to go from each cell to reach a target,
+ * shared by every enemy chasing the player. The distance from every cell to the target's cell is
+ * found with Dijkstra's algorithm over the eight neighbors of each cell, and each cell is given the
+ * direction the distance falls fastest in. The field is only worked out again when the target moves
+ * into another cell, so looking up a direction is just indexing into an array. The cells are the
+ * tiles of the room's TileMap, blocked tiles are never entered and corners of them are never cut.
+ */
+public class FlowField {
+
+    /** Size of a cell, in px */
+    public static final float CELL_SIZE = 60f;
+
+    /** Cost of moving to a neighbor beside or diagonal to a cell, about 10 and 10 * sqrt(2) */
+    private static final int STRAIGHT_COST = 10, DIAGONAL_COST = 14;
+
+    /** Distance of a cell the target can't be reached from */
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /** Offsets to the eight neighbors of a cell, the four beside it first */
+    private static final int[] NEIGHBOR_COLUMNS = { -1, 1, 0, 0, -1, 1, -1, 1 };
+    private static final int[] NEIGHBOR_ROWS = { 0, 0, -1, 1, -1, -1, 1, 1 };
+
+    /** Size of the grid */
+    private final int columns, rows;
+
+    /** The obstacles that have to be gone around */
+    private final TileMap tiles;
+
+    /** Distance from each cell to the target's cell */
+    private final int[] distance;
+
+    /** Unit vector from each cell towards the target, or zero in the target's cell and unreachable cells */
+    private final float[] directionX, directionY;
+
+    /** Cells waiting to be visited, each packed as its distance in the high bits and its index in the low bits */
+    private final long[] heap;
+
+    /** The cell the field was last worked out for, or -1 before it is first worked out */
+    private int targetCell = -1;
+
+    /**
+     * Create a field covering a room with obstacles
+     * @param tiles the obstacles of the room
+     */
+    public FlowField(TileMap tiles) {
+        this.tiles = tiles;
+        this.columns = tiles.getColumns();
+        this.rows = tiles.getRows();
+        int numCells = columns * rows;
+        distance = new int[numCells];
+        directionX = new float[numCells];
+        directionY = new float[numCells];
+        heap = new long[numCells * NEIGHBOR_COLUMNS.length + 1]; // each cell is added at most once per neighbor
+    }
+
+    /**
+     * Get the cell a point is in, clamped to the grid
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the index of the cell
+     */
+    public int cellOf(float x, float y) {
+        int column = Math.max(0, Math.min(columns - 1, (int) Math.floor(x / CELL_SIZE)));
+        int row = Math.max(0, Math.min(rows - 1, (int) Math.floor(y / CELL_SIZE)));
+        return row * columns + column;
+    }
+
+    /**
+     * Point the field at a target, working it out again only if the target is in another cell
+     * than last time
+     * @param x the x coordinate of the target
+     * @param y the y coordinate of the target
+     */
+    public void update(float x, float y) {
+        int cell = cellOf(x, y);
+        if (cell == targetCell) { return; }
+        targetCell = cell;
+        findDistances();
+        findDirections();
+    }
+
+    /**
+     * Get if a cell is the target's cell or right next to it, where it is better to head straight
+     * for the target than to follow the coarse directions of the grid
+     * @param cell the index of the cell
+     */
+    public boolean isNearTarget(int cell) { return distance[cell] <= DIAGONAL_COST; }
+
+    /** Get the x coordinate of the middle of a cell */
+    public float getCenterX(int cell) { return (cell % columns + 0.5f) * CELL_SIZE; }
+
+    /** Get the y coordinate of the middle of a cell */
+    public float getCenterY(int cell) { return (cell / columns + 0.5f) * CELL_SIZE; }
+
+    /** Get the x part of the unit vector from a cell towards the target */
+    public float getDirectionX(int cell) { return this.directionX[cell]; }
+
+    /** Get the y part of the unit vector from a cell towards the target */
+    public float getDirectionY(int cell) { return this.directionY[cell]; }
+
+    /** Find the distance from every cell to the target's cell */
+    private void findDistances() {
+        Arrays.fill(distance, UNREACHABLE);
+        distance[targetCell] = 0;
+        int size = 0;
+        heap[size++] = targetCell;
+        while (size > 0) {
+            long top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(size);
+            int cell = (int) top, cellDistance = (int) (top >>> 32);
+            if (cellDistance > distance[cell]) { continue; } // a shorter way here was already visited
+            int column = cell % columns, row = cell / columns;
+            for (int k = 0; k < NEIGHBOR_COLUMNS.length; k++) {
+                int neighborColumn = column + NEIGHBOR_COLUMNS[k], neighborRow = row + NEIGHBOR_ROWS[k];
+                if (!isOpen(neighborColumn, neighborRow)) { continue; }
+                if (k >= 4 && !(isOpen(neighborColumn, row) && isOpen(column, neighborRow))) { continue; } // don't cut corners
+                int neighbor = neighborRow * columns + neighborColumn;
+                int newDistance = cellDistance + (k < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+                if (newDistance < distance[neighbor]) {
+                    distance[neighbor] = newDistance;
+                    heap[size] = ((long) newDistance << 32) | neighbor;
+                    siftUp(size++);
+                }
+            }
+        }
+    }
+
+    /** Move the heap entry at an index up until its parent is no larger */
+    private void siftUp(int i) {
+        long entry = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (heap[parent] <= entry) { break; }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    /** Move the first heap entry down until its children are no smaller */
+    private void siftDown(int size) {
+        if (size == 0) { return; }
+        long entry = heap[0];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) { child++; }
+            if (entry <= heap[child]) { break; }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * Give every cell the direction its distance falls fastest in, from the difference between its
+     * neighbors on either side, with the edges of the room counted as further away. A cell beside
+     * an obstacle, or whose sides cancel out, heads for its closest neighbor instead so it never
+     * heads into the obstacle.
+     */
+    private void findDirections() {
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                directionX[cell] = directionY[cell] = 0f;
+                int cellDistance = distance[cell];
+                if (cell == targetCell || cellDistance == UNREACHABLE) { continue; }
+                float dx = 0, dy = 0;
+                if (!isBesideObstacle(column, row)) {
+                    int farther = cellDistance + STRAIGHT_COST;
+                    dx = distanceAt(column - 1, row, farther) - distanceAt(column + 1, row, farther);
+                    dy = distanceAt(column, row - 1, farther) - distanceAt(column, row + 1, farther);
+                }
+                if (dx == 0 && dy == 0) {
+                    int closest = cellDistance;
+                    for (int k = 0; k < NEIGHBOR_COLUMNS.length; k++) {
+                        int neighborColumn = column + NEIGHBOR_COLUMNS[k], neighborRow = row + NEIGHBOR_ROWS[k];
+                        if (k >= 4 && !(isOpen(neighborColumn, row) && isOpen(column, neighborRow))) { continue; }
+                        int neighborDistance = distanceAt(neighborColumn, neighborRow, cellDistance);
+                        if (neighborDistance < closest) {
+                            closest = neighborDistance;
+                            dx = NEIGHBOR_COLUMNS[k];
+                            dy = NEIGHBOR_ROWS[k];
+                        }
+                    }
+                }
+                float length = (float) Math.sqrt(dx*dx + dy*dy);
+                if (length > 0) {
+                    directionX[cell] = dx / length;
+                    directionY[cell] = dy / length;
+                }
+            }
+        }
+    }
+
+    /** Get if any of the eight neighbors of a cell is blocked */
+    private boolean isBesideObstacle(int column, int row) {
+        if (tiles.getNumBlocked() == 0) { return false; }
+        for (int k = 0; k < NEIGHBOR_COLUMNS.length; k++) {
+            if (tiles.isBlocked(column + NEIGHBOR_COLUMNS[k], row + NEIGHBOR_ROWS[k])) { return true; }
+        }
+        return false;
+    }
+
+    /** Get the distance of a cell, or the given fallback if it is outside the grid, blocked, or unreachable */
+    private int distanceAt(int column, int row, int fallback) {
+        if (!isOpen(column, row)) { return fallback; }
+        int cellDistance = distance[row * columns + column];
+        return cellDistance == UNREACHABLE ? fallback : cellDistance;
+    }
+
+    /** Get if a column and row are inside the grid and not blocked */
+    private boolean isOpen(int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows && !tiles.isBlocked(column, row);
+    }
+}
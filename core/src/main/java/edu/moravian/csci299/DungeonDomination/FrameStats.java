@@ -0,0 +1,81 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent durations of something that happens over and over, like drawing a frame
+ * or updating the game, in a ring buffer. Recording never allocates, and percentiles are worked
+ * out in a preallocated scratch array. Each FrameStats must only be used by one thread.
+ */
+public class FrameStats {
+
+    /** The most recent durations, in nanoseconds, oldest first starting at next once full */
+    private final long[] samples;
+
+    /** Space to sort the samples in without changing the ring buffer */
+    private final long[] scratch;
+
+    /** The number of samples recorded, up to the capacity, and where the next one goes */
+    private int count = 0, next = 0;
+
+    /**
+     * Create an empty recorder
+     * @param capacity the number of most recent durations to keep
+     */
+    public FrameStats(int capacity) {
+        samples = new long[capacity];
+        scratch = new long[capacity];
+    }
+
+    /**
+     * Record a duration, replacing the oldest one if the buffer is full
+     * @param nanos the duration, in nanoseconds
+     */
+    public void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) { count++; }
+    }
+
+    /** Get the number of durations kept */
+    public int size() { return this.count; }
+
+    /**
+     * Get the mean of the kept durations
+     * @return the mean duration, in nanoseconds, or 0 if there are none
+     */
+    public long mean() {
+        if (count == 0) { return 0; }
+        long total = 0;
+        for (int i = 0; i < count; i++) { total += samples[i]; }
+        return total / count;
+    }
+
+    /**
+     * Get a percentile of the kept durations
+     * @param fraction the percentile from 0 to 1, for example 0.99 for p99
+     * @return the duration, in nanoseconds, or 0 if there are none
+     */
+    public long percentile(double fraction) {
+        if (count == 0) { return 0; }
+        System.arraycopy(samples, 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+        int index = (int) Math.ceil(fraction * count) - 1;
+        return scratch[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * Write the kept durations, oldest first, one per line in nanoseconds
+     * @param out where to write the durations
+     * @throws IOException if writing fails
+     */
+    public void dump(Writer out) throws IOException {
+        int start = count < samples.length ? 0 : next;
+        for (int i = 0; i < count; i++) {
+            out.write(Long.toString(samples[(start + i) % samples.length]));
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * The Game keeps track of the player and multiple Rooms (areas of enemies). Only the current room
+ * exists at once, the next room is made in the background while the current one is played.
+ */
+public class Game {
+
+    /** The amount to move the player by when moving out of bounds */
+    private static final float EDGE_OFFSET = 0.0001f;
+
+    /** The one player in the game */
+    private Player player;
+
+    /** A game is represented of multiple rooms, made by the generator as they are needed */
+    private RoomGenerator generator;
+    private int numRooms;
+
+    /** How the game is played */
+    private GameMode mode = GameMode.ADVENTURE;
+
+    /** The index of the current room and the next room being made in the background */
+    private int roomIndex;
+    private Future<Room> nextRoom;
+
+    /** If the next room has been sent to be warmed up, which happens once the current room is cleared */
+    private boolean nextRoomWarming;
+
+    /** The room that is currently being played */
+    private Room currentRoom;
+
+    /** The width and height of the game, in px */
+    private int width, height;
+
+    /** Converts dp to px */
+    public static final float DP_TO_PX_FACTOR = 1f;
+    
+    /** Coins collected */
+    private int collectedCoins = 0;
+    
+    /** Status of game */
+    private boolean gameHasStarted = false, isGameOver = false, hasWon = false;
+    
+    /** Random, the only source of randomness in the game so a seed replays the same game */
+    private final Random random;
+    private final long seed;
+
+    /** Number of times the game has been updated */
+    private long tick = 0;
+
+    /** Records input for replaying the game later, or null when not recording */
+    private InputRecorder recorder;
+
+    /** Number of pointers that can hold the trigger at once, pointers with higher ids are ignored */
+    public static final int MAX_POINTERS = 4;
+
+    /** The point each pointer aims at, and if it is holding the trigger */
+    private final float[] aimX = new float[MAX_POINTERS], aimY = new float[MAX_POINTERS];
+    private final boolean[] triggerHeld = new boolean[MAX_POINTERS];
+
+    /** Ticks until each pointer holding the trigger fires again */
+    private final int[] fireCooldown = new int[MAX_POINTERS];
+    
+    /** Constructor for a new game with a random seed */
+    public Game() { this(new Random().nextLong()); }
+
+    /**
+     * Constructor for a new game that plays out the same way every time for the same seed and input
+     * @param seed The seed for all randomness in the game
+     */
+    public Game(long seed) {
+        this.seed = seed;
+        random = new Random(seed);
+    }
+
+    /** Get the seed of the game */
+    public long getSeed() { return this.seed; }
+
+    /** Get the number of times the game has been updated */
+    public long getTick() { return this.tick; }
+
+    /**
+     * Record all input given to the game from now on. Must be set before the game is started.
+     * @param recorder The recorder to write input to, or null to stop recording
+     */
+    public void setRecorder(InputRecorder recorder) { this.recorder = recorder; }
+
+    /**
+     * Returns status of if game has started yet or not.
+     * @return true if not started, otherwise false if started
+     */
+    public boolean hasNotStarted() { return !gameHasStarted; }
+
+    /**
+     * Returns if game is over (either player died or won)
+     * @return true if game is over, otherwise false
+     */
+    public boolean isGameOver() { return this.isGameOver; }
+
+    /**
+     * Returns if the player has won by defeating the final boss or not
+     * @return true if player won, otherwise false
+     */
+    public boolean hasPlayerWon() { return this.hasWon; }
+
+    /**
+     * Get the total number of collected coins this game
+     * @return integer representing number of coins collected this game
+     */
+    public int getCurrentCollectedCoins() { return this.collectedCoins; }
+
+    /**
+     * Get the number of rooms cleared so far
+     * @return integer representing how deep into the dungeon the player is
+     */
+    public int getRoomIndex() { return this.roomIndex; }
+
+    /**
+     * Start an adventure.
+     * @param width the width of the playing area in px
+     * @param height the height of the playing area in px
+     * @param weaponDamage The amount of damage the player deals
+     * @param multiplier The amount to multiply every enemies base health by
+     */
+    public void startGame(int width, int height, int weaponDamage, int multiplier) {
+        startGame(width, height, weaponDamage, multiplier, GameMode.ADVENTURE);
+    }
+
+    /**
+     * Start the game.
+     * @param width the width of the playing area in px
+     * @param height the height of the playing area in px
+     * @param weaponDamage The amount of damage the player deals
+     * @param multiplier The amount to multiply every enemies base health by
+     * @param mode How the game is played
+     */
+    public void startGame(int width, int height, int weaponDamage, int multiplier, GameMode mode) {
+        startGame(width, height, weaponDamage, multiplier, mode, RoomSettings.forMode(mode));
+    }
+
+    /**
+     * Start the game with rooms filled differently than the mode's own settings, for example to
+     * benchmark rooms without obstacles. Only the mode is recorded, so such a game can't be recorded.
+     * @param width the width of the playing area in px
+     * @param height the height of the playing area in px
+     * @param weaponDamage The amount of damage the player deals
+     * @param multiplier The amount to multiply every enemies base health by
+     * @param mode How the game is played
+     * @param settings How the rooms are filled with enemies and obstacles
+     * @throws IllegalStateException if the game is being recorded and the settings aren't the mode's own
+     */
+    public void startGame(int width, int height, int weaponDamage, int multiplier, GameMode mode, RoomSettings settings) {
+        if (recorder != null && settings != RoomSettings.forMode(mode)) {
+            throw new IllegalStateException("Only games using their mode's settings can be recorded");
+        }
+        this.width = width;
+        this.height = height;
+        this.mode = mode;
+        if (recorder != null) { recorder.recordStart(seed, width, height, weaponDamage, multiplier, mode); }
+        if (mode == GameMode.ENDLESS) {
+            numRooms = Integer.MAX_VALUE; // rooms keep coming until the player dies
+        } else {
+            numRooms = random.nextInt(10) + 10; // random number of rooms within range, the last is the boss room
+        }
+        generator = new RoomGenerator(random.nextLong(), width, height, multiplier, mode, settings);
+        roomIndex = 0;
+        currentRoom = generator.generate(roomIndex, false);
+        prepareNextRoom();
+        this.gameHasStarted = true; 
+        player = new Player(new Vector2(width/2f, height/2f), Weapons.forMode(mode, weaponDamage), 100);
+    }   
+
+    /** Get the player in the game */
+    public Player getPlayer() { return this.player; }
+
+    /** Get the room that is currently being played */
+    public Room getCurrentRoom() { return this.currentRoom; }
+
+    /** Get the players bullets from the current room */
+    public BulletStore getPlayerBullets() { return this.currentRoom.getPlayerBullets(); }
+
+    /** Get all enemies bullets from the current room */
+    public BulletStore getEnemyBullets() { return this.currentRoom.getEnemyBullets(); }
+    
+    /** Get the enemies from the current room */
+    public List<Enemy> getEnemies() { return this.currentRoom.getEnemies(); }
+
+    /**
+     * Sets the direction that the player will move in the future.
+     * @param angle the new direction of the player, in radians
+     */
+    public void setMovementDirection(double angle) {
+        if (this.gameHasStarted) {
+            if (recorder != null) { recorder.recordDirection(tick, angle); }
+            player.setDirection(angle);
+        }
+    }
+
+    /** Start making the room after the current one in the background, if there is one */
+    private void prepareNextRoom() {
+        int index = roomIndex + 1;
+        boolean isBoss = mode == GameMode.ENDLESS ? RoomGenerator.isEndlessBoss(index) : index == numRooms - 1;
+        nextRoom = index < numRooms ? generator.generateInBackground(index, isBoss) : null;
+        nextRoomWarming = false;
+    }
+
+    /**
+     * Start warming up the next room in the background once the current room is cleared, so the
+     * next room is ready by the time the player walks out and swapping it in is just taking it
+     */
+    private void warmUpNextRoom() {
+        if (nextRoom == null || nextRoomWarming || currentRoom.getNumEnemies() > 0) { return; }
+        nextRoom = generator.warmUpInBackground(nextRoom,
+            getPlayerBullets().capacity(), getEnemyBullets().capacity());
+        nextRoomWarming = true;
+    }
+
+    /** Make the current room the next room, which has usually been made and warmed up already */
+    private void unlockRoom() {
+        try {
+            this.currentRoom = nextRoom.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("Could not make the next room", e);
+        }
+        roomIndex++;
+        prepareNextRoom();
+    }
+
+    /**
+     * Update the game. This moves the player, all enemies, and all bullets.
+     * Updates collected coins from the dead enemies.
+     * Keeps the playe within bounds until all enemies are killed.
+     * Enemies constantly move toward the player and can shoot the player.
+     * @return true if the game is still going, false if the game is over
+     */
+    public boolean update() {
+        if (this.isGameOver) { return false; }
+        tick++;
+        boolean isOutOfBounds = player.isOutOfBounds(this.width, this.height);
+        int numOfEnemies = currentRoom.getNumEnemies();
+        if (isOutOfBounds && numOfEnemies == 0) {  // Move to next room if there is one
+            if (nextRoom == null) { // if this was the last room
+                this.isGameOver = true;
+                this.hasWon = true;
+                return false; 
+            }
+            unlockRoom();
+            checkBounds(
+                this.width - Player.BODY_PIECE_SIZE_DP - EDGE_OFFSET,
+                Player.BODY_PIECE_SIZE_DP + EDGE_OFFSET,
+                this.height - Player.BODY_PIECE_SIZE_DP - EDGE_OFFSET,
+                Player.BODY_PIECE_SIZE_DP + EDGE_OFFSET
+            ); // Move player to opposite side
+        } else if (isOutOfBounds && numOfEnemies > 0) {  // Keep player in bounds
+            checkBounds(
+                Player.BODY_PIECE_SIZE_DP + EDGE_OFFSET,
+                this.width - Player.BODY_PIECE_SIZE_DP - EDGE_OFFSET,
+                Player.BODY_PIECE_SIZE_DP + EDGE_OFFSET,
+                this.height - Player.BODY_PIECE_SIZE_DP - EDGE_OFFSET
+            ); // Move player just inside bounds
+        } else {
+            player.move(currentRoom.getTiles());
+        }
+
+        fireHeldTriggers();
+
+        // move enemies and all bullets, and remove enemies if defeated
+        currentRoom.moveEnemies(player);
+        collectedCoins += currentRoom.removeEnemies(); // collect coins from defeated enemies
+        warmUpNextRoom();
+        currentRoom.moveEnemyBullets(player);
+        currentRoom.movePlayerBullets();
+
+        // If player intersected any enemy, game is over
+        if (currentRoom.playerIntersectsEnemy(player) || player.getHealth() <= 0) {
+            player.setHealth(0);
+            this.isGameOver = true;
+        }
+        return true;
+    }
+
+    /**
+     * Start holding the trigger with a pointer, which fires at the point straight away and then
+     * keeps firing at the weapon's rate until the pointer goes up. Every tap fires, only a held
+     * pointer waits for the weapon.
+     * @param pointer the id of the pointer
+     * @param x The x coordinate of the point to fire at
+     * @param y The y coordinate of the point to fire at
+     */
+    public void pointerDown(int pointer, float x, float y) {
+        if (pointer < 0 || pointer >= MAX_POINTERS) { return; }
+        if (recorder != null) { recorder.recordPointer(InputRecorder.POINTER_DOWN, tick, pointer, x, y); }
+        aimX[pointer] = x;
+        aimY[pointer] = y;
+        triggerHeld[pointer] = true;
+        fireCooldown[pointer] = player.getWeapon().getFireInterval();
+        currentRoom.spawnBullet(x, y, player, getPlayerBullets());
+    }
+
+    /**
+     * Move the point a pointer holding the trigger fires at
+     * @param pointer the id of the pointer
+     * @param x The x coordinate of the point to fire at
+     * @param y The y coordinate of the point to fire at
+     */
+    public void pointerMoved(int pointer, float x, float y) {
+        if (pointer < 0 || pointer >= MAX_POINTERS || !triggerHeld[pointer]) { return; }
+        if (aimX[pointer] == x && aimY[pointer] == y) { return; } // nothing to record
+        if (recorder != null) { recorder.recordPointer(InputRecorder.POINTER_MOVE, tick, pointer, x, y); }
+        aimX[pointer] = x;
+        aimY[pointer] = y;
+    }
+
+    /**
+     * Stop holding the trigger with a pointer
+     * @param pointer the id of the pointer
+     */
+    public void pointerUp(int pointer) {
+        if (pointer < 0 || pointer >= MAX_POINTERS || !triggerHeld[pointer]) { return; }
+        if (recorder != null) { recorder.recordPointerUp(tick, pointer); }
+        triggerHeld[pointer] = false;
+    }
+
+    /** Fire again at every pointer that has held the trigger since the weapon last fired for it */
+    private void fireHeldTriggers() {
+        for (int i = 0; i < MAX_POINTERS; i++) {
+            if (triggerHeld[i] && --fireCooldown[i] <= 0) {
+                currentRoom.spawnBullet(aimX[i], aimY[i], player, getPlayerBullets());
+                fireCooldown[i] = player.getWeapon().getFireInterval();
+            }
+        }
+    }
+
+    /**
+     * Move the player to the given side of any bound they are past, changing their location in place
+     * @param left The left coordinate to set the player's x value to
+     * @param right The right coordinate to set the player's x value to
+     * @param top The top coordinate to set the player's y value to
+     * @param bottom The bottom coordinate to set the player's y value to
+     */
+    private void checkBounds(float left, float right, float top, float bottom) {
+        Vector2 currentLocation = player.getLocation();
+        float x = currentLocation.x, y = currentLocation.y;
+        double radius = player.getRadius();
+
+        // keep player within left and right bounds
+        if (currentLocation.x < radius) {
+            x = left;
+        } else if (currentLocation.x >= this.width - radius) {
+            x = right;
+        }
+
+        // keep player within top and bottom bounds
+        if (currentLocation.y < radius) {
+            y = top;
+        } else if (currentLocation.y >= this.height - radius) {
+            y = bottom;
+        }
+        player.placeAt(x, y);
+    }
+}
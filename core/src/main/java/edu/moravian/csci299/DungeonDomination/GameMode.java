@@ -0,0 +1,16 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * The ways the game can be played
+ */
+public enum GameMode {
+
+    /** A dungeon of 10 to 19 rooms that ends with a boss room */
+    ADVENTURE,
+
+    /** Rooms keep coming, with a boss every few rooms and enemies getting stronger after each boss */
+    ENDLESS,
+
+    /** An adventure with rooms full of enemies firing patterns of bullets, see RoomSettings.BULLET_HELL */
+    BULLET_HELL
+}
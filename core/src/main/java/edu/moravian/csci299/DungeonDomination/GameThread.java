@@ -0,0 +1,132 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The thread that runs the simulation. It applies queued input, updates the Game at a fixed
+ * tick rate, and publishes a RenderSnapshot after every batch of ticks. Only this thread ever
+ * touches the Game once it is started, other threads talk to it through the InputQueue and
+ * TiltInput and read from the SnapshotBuffer.
+ */
+public class GameThread extends Thread {
+
+    /** The game being simulated */
+    private final Game game;
+
+    /** Input from the UI thread and snapshots for the drawing thread */
+    private final InputQueue input = new InputQueue();
+    private final TiltInput tilt = new TiltInput();
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+    /** Runs the ticks at a fixed rate */
+    private final FixedTimestep timestep;
+
+    /** Number of ticks run so far */
+    private long ticks = 0;
+
+    /** How long the last few seconds of Game.update() calls took */
+    private final FrameStats updateStats = new FrameStats(4 * FixedTimestep.TICKS_PER_SECOND);
+
+    /** Percentiles of updateStats, worked out every STATS_INTERVAL ticks */
+    private static final int STATS_INTERVAL = 30;
+    private long updateP50Nanos, updateP99Nanos;
+
+    /** Status of the thread */
+    private volatile boolean running = true, paused = false;
+
+    /**
+     * Create the thread for a game that has already been started
+     * @param game the game to simulate
+     */
+    public GameThread(Game game) {
+        super("GameThread");
+        this.game = game;
+        this.timestep = new FixedTimestep(this::tick);
+    }
+
+    /** Get the queue to send input to the game through */
+    public InputQueue getInput() { return this.input; }
+
+    /** Get the filter to send tilt readings to the game through */
+    public TiltInput getTilt() { return this.tilt; }
+
+    /** Get the buffer that snapshots of the game are published to */
+    public SnapshotBuffer getSnapshots() { return this.snapshots; }
+
+    /** Get the durations of the last few seconds of updates. Only read it once the thread has stopped. */
+    public FrameStats getUpdateStats() { return this.updateStats; }
+
+    /**
+     * Pause or resume the simulation. Time spent paused is not simulated.
+     * @param paused true to pause, false to resume
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        LockSupport.unpark(this);
+    }
+
+    /** Stop the thread and wait for it to finish */
+    public void stopGame() {
+        running = false;
+        LockSupport.unpark(this);
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        publish(System.nanoTime());
+        while (running) {
+            if (paused) {
+                LockSupport.park(this);
+                timestep.reset();
+                continue;
+            }
+            long now = System.nanoTime();
+            long ticksBefore = ticks;
+            float alpha = timestep.advance(now);
+            if (ticks != ticksBefore) {
+                publish(now - (long) (alpha * FixedTimestep.TICK_NANOS));
+            }
+            LockSupport.parkNanos(this, (long) ((1f - alpha) * FixedTimestep.TICK_NANOS));
+        }
+    }
+
+    /** Apply all waiting input and the filtered tilt, and update the game once */
+    private void tick() {
+        while (input.poll()) {
+            if (input.getType() == InputQueue.POINTER_DOWN) {
+                game.pointerDown(input.getPointer(), input.getFirst(), input.getSecond());
+            } else if (input.getType() == InputQueue.POINTER_MOVE) {
+                game.pointerMoved(input.getPointer(), input.getFirst(), input.getSecond());
+            } else if (input.getType() == InputQueue.POINTER_UP) {
+                game.pointerUp(input.getPointer());
+            }
+        }
+        if (tilt.update()) {
+            game.setMovementDirection(tilt.getAngle()); // recorded like any other input, so replays match
+        }
+        long start = System.nanoTime();
+        game.update();
+        updateStats.record(System.nanoTime() - start);
+        if (++ticks % STATS_INTERVAL == 0) {
+            updateP50Nanos = updateStats.percentile(0.5);
+            updateP99Nanos = updateStats.percentile(0.99);
+        }
+    }
+
+    /**
+     * Copy the game into the back snapshot and publish it
+     * @param tickTime the time the last tick was meant to happen at, in nanoseconds
+     */
+    private void publish(long tickTime) {
+        RenderSnapshot snapshot = snapshots.getBack();
+        snapshot.capture(game, tickTime);
+        snapshot.updateP50Nanos = updateP50Nanos;
+        snapshot.updateP99Nanos = updateP99Nanos;
+        snapshots.publish();
+    }
+}
@@ -0,0 +1,83 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free queue of input events going from the UI thread to the game thread.
+ * Events are kept in fixed size primitive arrays so offering and polling never allocate.
+ * There must only be one thread offering (the UI thread) and one thread polling (the game thread).
+ */
+public class InputQueue {
+
+    /** Types of input events, the same as the types InputRecorder writes them as */
+    public static final int POINTER_DOWN = 3, POINTER_MOVE = 4, POINTER_UP = 5;
+
+    /** Number of events that can be waiting at once, must be a power of two */
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+
+    /** The events, stored as a type, a pointer, and a point */
+    private final int[] types = new int[CAPACITY];
+    private final int[] pointers = new int[CAPACITY];
+    private final float[] firstValues = new float[CAPACITY];
+    private final float[] secondValues = new float[CAPACITY];
+
+    /** Index of the next event to poll and the next slot to offer into */
+    private final AtomicLong head = new AtomicLong(), tail = new AtomicLong();
+
+    /** The event most recently polled */
+    private int type, pointer;
+    private float first, second;
+
+    /**
+     * Add a pointer going down, moving, or going up
+     * @param type POINTER_DOWN, POINTER_MOVE, or POINTER_UP
+     * @param pointer the id of the pointer
+     * @param x the x coordinate of the pointer, ignored for POINTER_UP
+     * @param y the y coordinate of the pointer, ignored for POINTER_UP
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean offerPointer(int type, int pointer, float x, float y) { return offer(type, pointer, x, y); }
+
+    /** Add an event if there is space for it */
+    private boolean offer(int type, int pointer, float first, float second) {
+        long t = tail.get();
+        if (t - head.get() >= CAPACITY) { return false; }
+        int i = (int) (t & MASK);
+        types[i] = type;
+        pointers[i] = pointer;
+        firstValues[i] = first;
+        secondValues[i] = second;
+        tail.lazySet(t + 1); // publish the event after its values are written
+        return true;
+    }
+
+    /**
+     * Take the oldest event out of the queue. Its values are then available from
+     * getType(), getPointer(), getFirst() and getSecond() until the next poll.
+     * @return true if there was an event, false if the queue was empty
+     */
+    public boolean poll() {
+        long h = head.get();
+        if (h == tail.get()) { return false; }
+        int i = (int) (h & MASK);
+        type = types[i];
+        pointer = pointers[i];
+        first = firstValues[i];
+        second = secondValues[i];
+        head.lazySet(h + 1); // free the slot after its values are read
+        return true;
+    }
+
+    /** Get the type of the last polled event, one of the POINTER types */
+    public int getType() { return this.type; }
+
+    /** Get the pointer of the last polled event */
+    public int getPointer() { return this.pointer; }
+
+    /** Get the first value of the last polled event, the x coordinate */
+    public float getFirst() { return this.first; }
+
+    /** Get the second value of the last polled event, the y coordinate */
+    public float getSecond() { return this.second; }
+}
@@ -0,0 +1,150 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes everything needed to replay a game into a compact binary stream: the seed and settings
+ * the game was started with, followed by every input event and the tick it happened before.
+ * Ticks are written as the number of ticks since the previous event so most events take only
+ * a few bytes. If writing ever fails the recorder stops recording instead of stopping the game.
+ * <p>
+ * Format: MAGIC, VERSION, seed, width, height, weapon damage, multiplier, mode, then events each made of
+ * a type byte, a variable-length tick delta, and the event's values. The stream ends with END.
+ * Version 4 added obstacles, which change how the same seed plays out, so older streams can't be replayed.
+ */
+public class InputRecorder implements Closeable {
+
+    /** Identifies a replay stream */
+    public static final int MAGIC = 0x44445250; // "DDRP"
+    public static final int VERSION = 4;
+
+    /** Types of events in the stream, 1 was a single tap before taps became pointer events */
+    public static final int END = 0, DIRECTION = 2, POINTER_DOWN = 3, POINTER_MOVE = 4, POINTER_UP = 5;
+
+    /** The stream being written to */
+    private final DataOutputStream out;
+
+    /** The tick of the last event written */
+    private long lastTick = 0;
+
+    /** Set once writing fails, nothing more is written after that */
+    private IOException error;
+
+    /**
+     * Create a recorder writing to a stream
+     * @param out the stream to write the replay to
+     */
+    public InputRecorder(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * Record the settings the game was started with
+     * @param seed the seed of the game
+     * @param width the width of the playing area in px
+     * @param height the height of the playing area in px
+     * @param weaponDamage the amount of damage the player deals
+     * @param multiplier the amount every enemies base health is multiplied by
+     * @param mode how the game is played
+     */
+    public void recordStart(long seed, int width, int height, int weaponDamage, int multiplier, GameMode mode) {
+        if (error != null) { return; }
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(weaponDamage);
+            out.writeInt(multiplier);
+            out.writeByte(mode.ordinal());
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Record a change of the player's movement direction
+     * @param tick the tick the change happened before
+     * @param angle the new direction, in radians
+     */
+    public void recordDirection(long tick, double angle) {
+        if (error != null) { return; }
+        try {
+            writeEvent(DIRECTION, tick);
+            out.writeDouble(angle);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Record a pointer going down or moving
+     * @param type POINTER_DOWN or POINTER_MOVE
+     * @param tick the tick the event happened before
+     * @param pointer the slot of the pointer
+     * @param x the x coordinate of the pointer
+     * @param y the y coordinate of the pointer
+     */
+    public void recordPointer(int type, long tick, int pointer, float x, float y) {
+        if (error != null) { return; }
+        try {
+            writeEvent(type, tick);
+            out.writeByte(pointer);
+            out.writeFloat(x);
+            out.writeFloat(y);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Record a pointer going up
+     * @param tick the tick the event happened before
+     * @param pointer the slot of the pointer
+     */
+    public void recordPointerUp(long tick, int pointer) {
+        if (error != null) { return; }
+        try {
+            writeEvent(POINTER_UP, tick);
+            out.writeByte(pointer);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /** Write the type and tick of an event */
+    private void writeEvent(int type, long tick) throws IOException {
+        out.writeByte(type);
+        long delta = tick - lastTick;
+        lastTick = tick;
+        while ((delta & ~0x7FL) != 0) { // 7 bits at a time, high bit set when more follow
+            out.writeByte((int) ((delta & 0x7F) | 0x80));
+            delta >>>= 7;
+        }
+        out.writeByte((int) delta);
+    }
+
+    /**
+     * Get the error that stopped recording
+     * @return the exception thrown while writing, or null if there was none
+     */
+    public IOException getError() { return this.error; }
+
+    /**
+     * Write the end of the replay and close the stream
+     * @param tick the number of ticks the game ran for
+     */
+    public void close(long tick) throws IOException {
+        if (error == null) { writeEvent(END, tick); }
+        out.close();
+    }
+
+    /** Close the stream without recording how long the game ran after its last input */
+    @Override
+    public void close() throws IOException { close(lastTick); }
+}
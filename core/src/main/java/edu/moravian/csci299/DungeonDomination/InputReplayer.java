@@ -0,0 +1,96 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Plays back a stream written by an InputRecorder. The game is created with the recorded seed and
+ * settings and then updated headlessly, with each recorded event applied before the tick it
+ * happened before, which reproduces the recorded game exactly.
+ */
+public class InputReplayer {
+
+    /** The stream being read */
+    private final DataInputStream in;
+
+    /** The game being replayed */
+    private final Game game;
+
+    /** The tick of the last event read */
+    private long lastTick = 0;
+
+    /**
+     * Read the start of a replay and create the game it was recorded from
+     * @param in the stream to read the replay from
+     * @throws IOException if the stream can't be read or isn't a replay
+     */
+    public InputReplayer(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != InputRecorder.MAGIC) { throw new IOException("Not a replay"); }
+        int version = this.in.readUnsignedByte();
+        if (version != InputRecorder.VERSION) { throw new IOException("Unsupported replay version " + version); }
+        game = new Game(this.in.readLong());
+        int width = this.in.readInt(), height = this.in.readInt();
+        int weaponDamage = this.in.readInt(), multiplier = this.in.readInt();
+        int mode = this.in.readUnsignedByte();
+        if (mode >= GameMode.values().length) { throw new IOException("Unknown game mode " + mode); }
+        game.startGame(width, height, weaponDamage, multiplier, GameMode.values()[mode]);
+    }
+
+    /** Get the game being replayed */
+    public Game getGame() { return this.game; }
+
+    /**
+     * Replay the rest of the stream. A stream that was cut off, for example by a crash, is
+     * replayed up to its last complete event.
+     * @return the game after the last recorded tick
+     * @throws IOException if the stream can't be read
+     */
+    public Game replay() throws IOException {
+        try {
+            while (true) {
+                int type = in.readUnsignedByte();
+                long tick = readTick();
+                while (game.getTick() < tick && game.update()) { }
+                if (type == InputRecorder.DIRECTION) {
+                    game.setMovementDirection(in.readDouble());
+                } else if (type == InputRecorder.POINTER_DOWN || type == InputRecorder.POINTER_MOVE) {
+                    int pointer = in.readUnsignedByte();
+                    float x = in.readFloat(), y = in.readFloat();
+                    if (type == InputRecorder.POINTER_DOWN) {
+                        game.pointerDown(pointer, x, y);
+                    } else {
+                        game.pointerMoved(pointer, x, y);
+                    }
+                } else if (type == InputRecorder.POINTER_UP) {
+                    game.pointerUp(in.readUnsignedByte());
+                } else if (type == InputRecorder.END) {
+                    break;
+                } else {
+                    throw new IOException("Unknown event type " + type);
+                }
+            }
+        } catch (EOFException e) {
+            // the recording ended without an END event
+        } finally {
+            in.close();
+        }
+        return game;
+    }
+
+    /** Read the tick of an event */
+    private long readTick() throws IOException {
+        long delta = 0;
+        int shift = 0, b;
+        do {
+            b = in.readUnsignedByte();
+            delta |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        lastTick += delta;
+        return lastTick;
+    }
+}
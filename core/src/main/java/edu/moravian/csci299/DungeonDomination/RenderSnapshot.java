@@ -0,0 +1,120 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A copy of everything needed to draw one tick of the game. The game thread fills a snapshot
+ * after it ticks and the view draws from it, so the view never reads the Game while it changes.
+ * Snapshots are reused, their arrays only grow when there are more things to draw than before.
+ */
+public class RenderSnapshot {
+
+    /**
+     * A group of circles with their previous and current locations
+     */
+    public static class Circles {
+        public float[] previousX = new float[16], previousY = new float[16];
+        public float[] x = new float[16], y = new float[16];
+        public float[] radius = new float[16];
+        public int[] health = new int[16], initialHealth = new int[16];
+        public int count;
+
+        /** Make sure there is room for the given number of circles */
+        private void ensureCapacity(int capacity) {
+            if (capacity <= x.length) { return; }
+            int length = Math.max(capacity, x.length * 2);
+            previousX = Arrays.copyOf(previousX, length);
+            previousY = Arrays.copyOf(previousY, length);
+            x = Arrays.copyOf(x, length);
+            y = Arrays.copyOf(y, length);
+            radius = Arrays.copyOf(radius, length);
+            health = Arrays.copyOf(health, length);
+            initialHealth = Arrays.copyOf(initialHealth, length);
+        }
+
+        /** Copy a character into the given index */
+        private void set(int i, Character character) {
+            previousX[i] = character.getInterpolatedX(0f);
+            previousY[i] = character.getInterpolatedY(0f);
+            x[i] = character.getLocation().x;
+            y[i] = character.getLocation().y;
+            radius[i] = character.getRadius();
+            health[i] = character.getHealth();
+        }
+
+        /**
+         * Get the x coordinate of a circle between its previous and current location
+         * @param i the index of the circle
+         * @param alpha how far from the previous location to the current one, from 0 to 1
+         */
+        public float getX(int i, float alpha) { return previousX[i] + (x[i] - previousX[i]) * alpha; }
+
+        /**
+         * Get the y coordinate of a circle between its previous and current location
+         * @param i the index of the circle
+         * @param alpha how far from the previous location to the current one, from 0 to 1
+         */
+        public float getY(int i, float alpha) { return previousY[i] + (y[i] - previousY[i]) * alpha; }
+    }
+
+    /** The player, enemies, and both kinds of bullets */
+    public final Circles player = new Circles(), enemies = new Circles();
+    public final Circles playerBullets = new Circles(), enemyBullets = new Circles();
+
+    /** The obstacles of the current room, which never change so they are shared rather than copied */
+    public TileMap tiles;
+
+    /** Status of the game when the snapshot was taken */
+    public int playerHealth, collectedCoins;
+    public boolean isGameOver, hasWon;
+
+    /** Recent percentiles of how long Game.update() took, in nanoseconds */
+    public long updateP50Nanos, updateP99Nanos;
+
+    /** The time the snapshot was taken, in nanoseconds, or -1 if it is empty */
+    public long timeNanos = -1;
+
+    /**
+     * Copy the current state of the game into this snapshot
+     * @param game the game to copy, which must have started
+     * @param nowNanos the current time, in nanoseconds
+     */
+    public void capture(Game game, long nowNanos) {
+        Player p = game.getPlayer();
+        player.count = 1;
+        player.set(0, p);
+
+        List<Enemy> enemyList = game.getEnemies();
+        enemies.ensureCapacity(enemyList.size());
+        enemies.count = enemyList.size();
+        for (int i = 0; i < enemies.count; i++) {
+            Enemy enemy = enemyList.get(i);
+            enemies.set(i, enemy);
+            enemies.initialHealth[i] = enemy.getInitialHealth();
+        }
+
+        tiles = game.getCurrentRoom().getTiles();
+        captureBullets(playerBullets, game.getPlayerBullets());
+        captureBullets(enemyBullets, game.getEnemyBullets());
+
+        playerHealth = p.getHealth();
+        collectedCoins = game.getCurrentCollectedCoins();
+        isGameOver = game.isGameOver();
+        hasWon = game.hasPlayerWon();
+        timeNanos = nowNanos;
+    }
+
+    /** Copy a store of bullets */
+    private static void captureBullets(Circles circles, BulletStore bullets) {
+        circles.ensureCapacity(bullets.size());
+        circles.count = bullets.size();
+        for (int i = 0; i < circles.count; i++) {
+            circles.previousX[i] = bullets.getPreviousX(i);
+            circles.previousY[i] = bullets.getPreviousY(i);
+            circles.x[i] = bullets.getX(i);
+            circles.y[i] = bullets.getY(i);
+            circles.radius[i] = BulletStore.RADIUS;
+        }
+    }
+}
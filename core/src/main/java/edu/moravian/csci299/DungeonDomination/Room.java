@@ -0,0 +1,395 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.ArrayList;
+
+import static edu.moravian.csci299.DungeonDomination.Util.timeOfImpact;
+
+/**
+ * The game is made up of multiple Rooms. 
+ * A Room contains a list of enemies, enemy bullets, and player bullets
+ * A Room can also be boss room consisting of one large enemy
+ */
+public class Room {
+
+    /** Size of a regular enemy and of a boss */
+    public static final float ENEMY_RADIUS = 30f, BOSS_RADIUS = 80f;
+
+    /** List of enemies and the stores of enemy bullets and player bullets */
+    private final List<Enemy> enemies;
+    private final BulletStore enemyBullets;
+    private final BulletStore playerBullets;
+    private final Random random;
+    private final boolean isBoss;
+
+    /** How the room is filled with enemies and how they fire */
+    private final RoomSettings settings;
+
+    /** The width and height of the room, bullets that leave it are removed */
+    private final int width, height;
+
+    /** Grid of the enemies used to find the ones near bullets and the player, sized for the largest one */
+    private SpatialGrid enemyGrid;
+    private float maxRadius;
+
+    /** The id given to the next enemy added to the room */
+    private int nextEnemyId = 0;
+
+    /** The obstacles in the room, and the directions around them towards the player shared by every enemy */
+    private final TileMap tiles;
+    private final FlowField flowField;
+
+    /** How hard overlapping enemies push each other apart, compared to following the flow field */
+    private static final float SEPARATION_STRENGTH = 1.5f;
+
+    /** Space for the indices of the enemies overlapping one enemy */
+    private final int[] neighbors = new int[16];
+
+    /** Space for the ids of the enemies one bullet passed through */
+    private final int[] passedIds = new int[BulletStore.MAX_PIERCE];
+
+    /**
+     * A room is either a boss room or not, has a width and a height,
+     * and all enemies have their health multiplied by the multiplier.
+     * @param isBoss Is this a boss room
+     * @param width The width of the room
+     * @param height The height of the room
+     * @param multiplier The base health multiplier for harder enemies
+     * @param random The game's source of randomness, used to place enemies and decide when they fire
+     */
+    public Room(boolean isBoss, int width, int height, int multiplier, Random random) {
+        this(isBoss, width, height, multiplier, random, RoomSettings.ADVENTURE);
+    }
+
+    /**
+     * A room is either a boss room or not, has a width and a height,
+     * and all enemies have their health multiplied by the multiplier.
+     * @param isBoss Is this a boss room
+     * @param width The width of the room
+     * @param height The height of the room
+     * @param multiplier The base health multiplier for harder enemies
+     * @param random The game's source of randomness, used to place enemies and decide when they fire
+     * @param settings How the room is filled with enemies and how they fire
+     */
+    public Room(boolean isBoss, int width, int height, int multiplier, Random random, RoomSettings settings) {
+        this.isBoss = isBoss;
+        this.width = width;
+        this.height = height;
+        this.random = random;
+        this.settings = settings;
+        enemies = new ArrayList<>();
+        enemyBullets = new BulletStore();
+        playerBullets = new BulletStore();
+        // the boss is too big to fit between obstacles, so boss rooms are open
+        tiles = isBoss ? new TileMap(width, height) : TileMap.generate(width, height, settings.getObstacles(), random);
+        if (isBoss) { // if this room is a boss room
+            Enemy boss = new Enemy(new Vector2(random.nextInt(width), random.nextInt(height)),
+                new Weapon(settings.getBossDamage()), 500*multiplier, BOSS_RADIUS, 25*multiplier);
+            boss.setPattern(settings.getBossPattern());
+            boss.setId(nextEnemyId++);
+            enemies.add(boss);
+        } else { // this is a regular room
+            int numEnemies = random.nextInt(settings.getMaxEnemies() - settings.getMinEnemies() + 1) + settings.getMinEnemies();
+            for (int i = 0; i < numEnemies; i++) {
+                Enemy enemy = new Enemy(randomOpenLocation(ENEMY_RADIUS), new Weapon(settings.getEnemyDamage()),
+                        100*multiplier, ENEMY_RADIUS, multiplier);
+                if (settings.getNumPatterns() > 1) { // only use randomness when there is a choice
+                    enemy.setPattern(settings.getPattern(random.nextInt(settings.getNumPatterns())));
+                }
+                enemy.setId(nextEnemyId++);
+                enemies.add(enemy);
+            }
+        }
+        maxRadius = Player.BODY_PIECE_SIZE_DP;
+        for (Enemy enemy : enemies) { maxRadius = Math.max(maxRadius, enemy.getRadius()); }
+        enemyGrid = new SpatialGrid(width, height, maxRadius);
+        flowField = new FlowField(tiles);
+    }
+
+    /**
+     * Pick a random location for an enemy in one of the open tiles. If the enemy would overlap an
+     * obstacle next to the tile it is moved to the middle of the tile instead.
+     * @param radius The radius of the enemy
+     * @return the location
+     */
+    private Vector2 randomOpenLocation(float radius) {
+        int tile = tiles.randomOpenTile(random);
+        float left = (tile % tiles.getColumns()) * TileMap.TILE_SIZE, top = (tile / tiles.getColumns()) * TileMap.TILE_SIZE;
+        Vector2 location = new Vector2(Math.min(width, left + random.nextFloat() * TileMap.TILE_SIZE),
+            Math.min(height, top + random.nextFloat() * TileMap.TILE_SIZE));
+        if (tiles.overlapsCircle(location.x, location.y, radius * Game.DP_TO_PX_FACTOR)) {
+            location.set(left + TileMap.TILE_SIZE / 2, top + TileMap.TILE_SIZE / 2);
+        }
+        return location;
+    }
+
+    /**
+     * Add another enemy to the room, making the grid bigger if the enemy is larger than any before
+     * @param enemy The enemy to add
+     */
+    public void addEnemy(Enemy enemy) {
+        enemy.setId(nextEnemyId++);
+        enemies.add(enemy);
+        if (enemy.getRadius() > maxRadius) {
+            maxRadius = enemy.getRadius();
+            enemyGrid = new SpatialGrid(width, height, maxRadius);
+        }
+    }
+
+    /**
+     * Get the room ready to be played before it is swapped in, so the first ticks in it don't
+     * allocate. The bullet stores are grown to the sizes the last room needed and the enemy grid
+     * is built once so its arrays are sized for the enemies.
+     * @param playerBulletCapacity the number of player bullets to make room for
+     * @param enemyBulletCapacity the number of enemy bullets to make room for
+     */
+    public void warmUp(int playerBulletCapacity, int enemyBulletCapacity) {
+        playerBullets.ensureCapacity(playerBulletCapacity);
+        enemyBullets.ensureCapacity(enemyBulletCapacity);
+        enemyGrid.build(enemies);
+    }
+
+    /** Get the obstacles in the room */
+    public TileMap getTiles() { return this.tiles; }
+
+    /**
+     * Get list of enemies in the room
+     * @return list of Enemies
+     */
+    public List<Enemy> getEnemies() { return this.enemies; }
+
+    /**
+     * Get number of enemies in the room
+     * @return integer representing enemy count in room
+     */
+    public int getNumEnemies() { return this.enemies.size(); }
+
+    /**
+     * Get the player's bullets
+     * @return store of the player's bullets
+     */
+    public BulletStore getPlayerBullets() { return this.playerBullets; }
+
+    /**
+     * Get the enemy's bullets
+     * @return store of the enemy's bullets
+     */
+    public BulletStore getEnemyBullets() { return this.enemyBullets; }
+
+    /**
+     * Remove all enemies that have 0 or less health and collect their coins
+     * @return Amount of coins the player has earned
+     */
+    public int removeEnemies() {
+        int coinsEarned = 0;
+        ListIterator<Enemy> iter = enemies.listIterator();
+        while(iter.hasNext()) {
+            Enemy enemy = iter.next();
+            if (enemy.getHealth() <= 0) {
+                coinsEarned +=  enemy.getCoinValue();
+                iter.remove();
+            }
+        }
+        return coinsEarned;
+    }
+
+    /**
+     * Move all enemies towards the player and give them a chance of firing. Enemies follow the
+     * flow field until they are next to the player's cell, then head straight for the player, and
+     * enemies overlapping each other push apart so they don't pile up. The enemies are put into
+     * the grid first, since some may have been removed or added since it was last built.
+     * @param player The player to move towards
+     */
+    public void moveEnemies(Player player) {
+        Vector2 currentLocation = player.getLocation();
+        double fireChance = settings.getFireChance();
+        flowField.update(currentLocation.x, currentLocation.y);
+        enemyGrid.build(enemies);
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            Vector2 location = enemy.getLocation();
+            int cell = flowField.cellOf(location.x, location.y);
+            float dx, dy;
+            if (flowField.isNearTarget(cell)) {
+                dx = currentLocation.x - location.x;
+                dy = currentLocation.y - location.y;
+            } else { // head for a point a cell along the field from the middle of the cell, so an enemy off to one side of a gap slides into it instead of catching on a corner
+                dx = flowField.getCenterX(cell) + flowField.getDirectionX(cell) * FlowField.CELL_SIZE - location.x;
+                dy = flowField.getCenterY(cell) + flowField.getDirectionY(cell) * FlowField.CELL_SIZE - location.y;
+            }
+            float length = (float) Math.sqrt(dx*dx + dy*dy);
+            float steerX = length > 0 ? dx / length : 0, steerY = length > 0 ? dy / length : 0;
+            findSeparation(i, enemy);
+            enemy.setDirection(steerX + separationX, steerY + separationY);
+            enemy.move(tiles);
+            if (random.nextDouble() <= fireChance) {
+                fire(enemy, currentLocation);
+            }
+        }
+    }
+
+    /** The push on the enemy last passed to findSeparation */
+    private float separationX, separationY;
+
+    /**
+     * Work out how hard the enemies overlapping an enemy push it away, into separationX and
+     * separationY. The enemies are found where they were at the start of the tick, which is close
+     * enough since enemies only move a little each tick.
+     * @param index The index of the enemy
+     * @param enemy The enemy
+     */
+    private void findSeparation(int index, Enemy enemy) {
+        Vector2 location = enemy.getLocation();
+        float pushX = 0, pushY = 0;
+        int count = enemyGrid.findAllWithin(location.x, location.y, enemy.getRadius(), enemies, neighbors);
+        for (int k = 0; k < count; k++) {
+            int other = neighbors[k];
+            if (other == index) { continue; }
+            Enemy neighbor = enemies.get(other);
+            float dx = location.x - neighbor.getLocation().x, dy = location.y - neighbor.getLocation().y;
+            float length = (float) Math.sqrt(dx*dx + dy*dy);
+            float range = (enemy.getRadius() + neighbor.getRadius()) * Game.DP_TO_PX_FACTOR;
+            if (length == 0 || length >= range) { continue; } // exactly on top of each other has no direction to push in
+            float overlap = 1 - length / range;
+            pushX += dx / length * overlap;
+            pushY += dy / length * overlap;
+        }
+        separationX = pushX * SEPARATION_STRENGTH;
+        separationY = pushY * SEPARATION_STRENGTH;
+    }
+
+    /**
+     * Fire the enemy's pattern of bullets
+     * @param enemy The enemy firing
+     * @param target The location of the player
+     */
+    private void fire(Enemy enemy, Vector2 target) {
+        switch (enemy.getPattern()) {
+            case SPREAD: {
+                Vector2 location = enemy.getLocation();
+                float dx = target.x - location.x, dy = target.y - location.y;
+                float length = (float) Math.sqrt(dx*dx + dy*dy);
+                if (length > 0) {
+                    spawnFan(enemy, dx / length, dy / length, settings.getSpreadFan(), enemyBullets);
+                } else {
+                    spawnFan(enemy, 1, 0, settings.getSpreadFan(), enemyBullets);
+                }
+                break;
+            }
+            case RING:
+                spawnFan(enemy, 1, 0, settings.getRingFan(), enemyBullets);
+                break;
+            case SPIRAL:
+                spawnFan(enemy, enemy.getFireDirectionX(), enemy.getFireDirectionY(), settings.getRingFan(), enemyBullets);
+                enemy.turnFireDirection(settings.getSpiralCos(), settings.getSpiralSin());
+                break;
+            default:
+                spawnBullet(target.x, target.y, enemy, enemyBullets);
+        }
+    }
+
+    /**
+     * Move the enemy bullets. Remove them if they hit the player and decrease the player's health.
+     * The whole path a bullet moved along this tick is checked, so fast bullets can't skip over the player.
+     * @param player The player being shot at
+     */
+    public void moveEnemyBullets(Player player) {
+        enemyBullets.move();
+        enemyBullets.stopAtTiles(tiles);
+        Vector2 location = player.getLocation();
+        float range = (BulletStore.RADIUS + player.getRadius()) * Game.DP_TO_PX_FACTOR;
+        for (int i = 0; i < enemyBullets.size(); i++) {
+            float x0 = enemyBullets.getPreviousX(i), y0 = enemyBullets.getPreviousY(i);
+            if (timeOfImpact(x0, y0, enemyBullets.getX(i) - x0, enemyBullets.getY(i) - y0, location, range) >= 0) {
+                enemyBullets.setHit(i);
+                player.decreaseHealth(enemyBullets.getDamage(i));
+            }
+        }
+        removeEnemyBullets();
+    }
+
+    /**
+     * Move the player's bullets. Remove them if they hit an enemy and decrease enemies health.
+     * A bullet hits the first enemy along the path it moved this tick, so fast bullets can't
+     * skip over enemies. A piercing bullet goes on to the next enemy along the path until it can't
+     * pierce any more, and never hits an enemy it already passed through. This also puts the
+     * enemies into the grid used by playerIntersectsEnemy.
+     */
+    public void movePlayerBullets() {
+        enemyGrid.build(enemies);
+        playerBullets.move();
+        playerBullets.stopAtTiles(tiles);
+        for (int i = 0; i < playerBullets.size(); i++) {
+            boolean passedThrough = true;
+            while (passedThrough) {
+                int numPassed = playerBullets.getPassedThrough(i, passedIds);
+                int enemyHit = enemyGrid.findFirstAlong(playerBullets.getPreviousX(i), playerBullets.getPreviousY(i),
+                    playerBullets.getX(i), playerBullets.getY(i), BulletStore.RADIUS, enemies, passedIds, numPassed);
+                if (enemyHit < 0) { break; }
+                Enemy enemy = enemies.get(enemyHit);
+                passedThrough = playerBullets.hitEnemy(i, enemy.getId());
+                enemy.decreaseHealth(playerBullets.getDamage(i));
+            }
+        }
+        removePlayerBullets();
+    }
+
+    /**
+     * Does the player intersect any enemy. Must be called after movePlayerBullets
+     * so the enemies are where they were last put into the grid.
+     * @param player The player to check
+     * @return true if the player intersects any enemy
+     */
+    public boolean playerIntersectsEnemy(Player player) { return player.intersectsEnemy(enemyGrid, enemies); }
+
+    /**
+     * Fire one shot of the character's weapon at a point, which is one or more bullets spread
+     * evenly around the direction of the point
+     * @param destX The x coordinate of the destination point being fired at
+     * @param destY The y coordinate of the destination point being fired at
+     * @param character The character doing the firing. Either the player or the enemy
+     * @param bullets The store to add the bullets to
+     */
+    public void spawnBullet(float destX, float destY, Character character, BulletStore bullets) {
+        Vector2 location = character.getLocation();
+        float dx = destX - location.x, dy = destY - location.y;
+        float length = (float) Math.sqrt(dx*dx + dy*dy);
+        float aimX = 1, aimY = 0; // fires to the right when the destination is the character itself
+        if (length > 0) {
+            aimX = dx / length;
+            aimY = dy / length;
+        }
+        Weapon weapon = character.getWeapon();
+        if (weapon.getFan().getCount() == 1) {
+            float speed = (float) character.getBulletSpeed();
+            bullets.spawn(location.x, location.y, aimX * speed, aimY * speed, weapon.getDamage(),
+                weapon.getLifetime(), weapon.getPierce());
+        } else {
+            spawnFan(character, aimX, aimY, weapon.getFan(), bullets);
+        }
+    }
+
+    /**
+     * Spawn a fan of bullets from a character
+     * @param character The character doing the firing
+     * @param aimX The x part of the unit vector the fan is aimed along
+     * @param aimY The y part of the unit vector the fan is aimed along
+     * @param fan The directions of the bullets relative to the aim
+     * @param bullets The store to add the bullets to
+     */
+    public void spawnFan(Character character, float aimX, float aimY, Fan fan, BulletStore bullets) {
+        Vector2 location = character.getLocation();
+        Weapon weapon = character.getWeapon();
+        bullets.spawnFan(location.x, location.y, aimX, aimY, fan, (float) character.getBulletSpeed(),
+            weapon.getDamage(), weapon.getLifetime(), weapon.getPierce());
+    }
+
+    /** Remove player bullets if they hit the enemy, ran out of lifetime, or left the room */
+    public void removePlayerBullets() { playerBullets.removeFinished(width, height); }
+
+    /** Remove enemy bullets if they hit the player, ran out of lifetime, or left the room */
+    public void removeEnemyBullets() { enemyBullets.removeFinished(width, height); }
+
+}
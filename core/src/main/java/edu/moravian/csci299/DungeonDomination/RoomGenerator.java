@@ -0,0 +1,125 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the rooms of a dungeon when they are needed instead of all at the start of the game.
+ * Every room has its own seed worked out from the dungeon's seed and the room's index, so a room
+ * comes out the same no matter when or on which thread it is made. Nothing is kept about rooms
+ * that were already made, so an endless dungeon uses the same memory no matter how deep it goes.
+ */
+public class RoomGenerator {
+
+    /** In endless mode every this many rooms is a boss room, and enemies get stronger after it */
+    public static final int ENDLESS_BOSS_INTERVAL = 10;
+
+    /** One background thread shared by every game to make rooms ahead of time */
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "RoomGenerator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Seed of the dungeon */
+    private final long seed;
+
+    /** The size of every room and the base health multiplier of their enemies */
+    private final int width, height, multiplier;
+
+    /** How the dungeon is played and how its rooms are filled */
+    private final GameMode mode;
+    private final RoomSettings settings;
+
+    /**
+     * Create a generator for the rooms of one dungeon
+     * @param seed The seed of the dungeon
+     * @param width The width of the rooms
+     * @param height The height of the rooms
+     * @param multiplier The base health multiplier for harder enemies
+     * @param mode How the dungeon is played
+     */
+    public RoomGenerator(long seed, int width, int height, int multiplier, GameMode mode) {
+        this(seed, width, height, multiplier, mode, RoomSettings.forMode(mode));
+    }
+
+    /**
+     * Create a generator for the rooms of one dungeon, filling them differently than the mode's own settings
+     * @param seed The seed of the dungeon
+     * @param width The width of the rooms
+     * @param height The height of the rooms
+     * @param multiplier The base health multiplier for harder enemies
+     * @param mode How the dungeon is played
+     * @param settings How the rooms are filled with enemies and obstacles
+     */
+    public RoomGenerator(long seed, int width, int height, int multiplier, GameMode mode, RoomSettings settings) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.multiplier = multiplier;
+        this.mode = mode;
+        this.settings = settings;
+    }
+
+    /**
+     * Make a room on the calling thread
+     * @param index The position of the room in the dungeon, starting at 0
+     * @param isBoss Is this a boss room
+     * @return the new room
+     */
+    public Room generate(int index, boolean isBoss) {
+        return new Room(isBoss, width, height, multiplierFor(index), new Random(seedFor(index)), settings);
+    }
+
+    /**
+     * Start making a room on the background thread
+     * @param index The position of the room in the dungeon, starting at 0
+     * @param isBoss Is this a boss room
+     * @return the room once it is made
+     */
+    public Future<Room> generateInBackground(int index, boolean isBoss) {
+        return BACKGROUND.submit(() -> generate(index, isBoss));
+    }
+
+    /**
+     * Warm up a room on the background thread once it is made, see Room.warmUp
+     * @param room The room being made in the background
+     * @param playerBulletCapacity the number of player bullets to make room for
+     * @param enemyBulletCapacity the number of enemy bullets to make room for
+     * @return the room once it is made and warmed up
+     */
+    public Future<Room> warmUpInBackground(Future<Room> room, int playerBulletCapacity, int enemyBulletCapacity) {
+        return BACKGROUND.submit(() -> {
+            Room warmed = room.get(); // already made, the background thread runs tasks in order
+            warmed.warmUp(playerBulletCapacity, enemyBulletCapacity);
+            return warmed;
+        });
+    }
+
+    /**
+     * Is the room at an index a boss room in endless mode
+     * @param index The position of the room in the dungeon, starting at 0
+     * @return true for every ENDLESS_BOSS_INTERVAL-th room
+     */
+    public static boolean isEndlessBoss(int index) { return (index + 1) % ENDLESS_BOSS_INTERVAL == 0; }
+
+    /**
+     * Get the health multiplier of the enemies in a room. In endless mode it grows by the base
+     * multiplier after every boss room.
+     * @param index The position of the room in the dungeon, starting at 0
+     */
+    private int multiplierFor(int index) {
+        if (mode != GameMode.ENDLESS) { return multiplier; }
+        return multiplier * (1 + index / ENDLESS_BOSS_INTERVAL);
+    }
+
+    /** Get the seed of a room by mixing the room's index into the dungeon's seed (SplitMix64) */
+    private long seedFor(int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
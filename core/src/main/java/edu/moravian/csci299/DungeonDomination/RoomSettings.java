@@ -0,0 +1,152 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * How the rooms of a game are filled with enemies and how those enemies fire. Each game mode has
+ * its own settings, and other settings can be made to push the game harder, for example to load
+ * test it with thousands of bullets.
+ */
+public class RoomSettings {
+
+    /** One to three enemies that now and then fire a single bullet at the player */
+    public static final RoomSettings ADVENTURE = new RoomSettings(1, 3, 0.01, 5,
+        new FirePattern[] { FirePattern.AIMED }, 1, 0, 0, FirePattern.AIMED, 20, 4);
+
+    /** Rooms full of enemies firing spreads, rings, and spirals of weaker bullets */
+    public static final RoomSettings BULLET_HELL = new RoomSettings(6, 12, 0.05, 1,
+        new FirePattern[] { FirePattern.SPREAD, FirePattern.RING, FirePattern.SPIRAL }, 16, Math.PI / 3, 0.25,
+        FirePattern.SPIRAL, 4, 3);
+
+    /** The fewest and most enemies in a regular room */
+    private final int minEnemies, maxEnemies;
+
+    /** The chance each enemy fires each tick */
+    private final double fireChance;
+
+    /** The damage of a regular enemy's bullets */
+    private final int enemyDamage;
+
+    /** The patterns regular enemies are given, picked at random for each enemy */
+    private final FirePattern[] patterns;
+
+    /** The number of bullets in a spread or ring, or arms of a spiral */
+    private final int bulletsPerShot;
+
+    /** The angle covered by a spread and how far a spiral turns each shot, in radians */
+    private final double spreadAngle, spiralStep;
+
+    /** The directions of the bullets of a spread and of a ring or spiral, worked out once */
+    private final Fan spreadFan, ringFan;
+
+    /** Cosine and sine of how far a spiral turns each shot */
+    private final float spiralCos, spiralSin;
+
+    /** The pattern and bullet damage of the boss */
+    private final FirePattern bossPattern;
+    private final int bossDamage;
+
+    /** The number of obstacles tried in a regular room */
+    private final int obstacles;
+
+    /**
+     * Create settings for rooms
+     * @param minEnemies The fewest enemies in a regular room
+     * @param maxEnemies The most enemies in a regular room
+     * @param fireChance The chance each enemy fires each tick
+     * @param enemyDamage The damage of a regular enemy's bullets
+     * @param patterns The patterns regular enemies are given, picked at random for each enemy
+     * @param bulletsPerShot The number of bullets in a spread or ring, or arms of a spiral
+     * @param spreadAngle The angle covered by a spread, in radians
+     * @param spiralStep How far a spiral turns each shot, in radians
+     * @param bossPattern The pattern of the boss
+     * @param bossDamage The damage of the boss's bullets
+     * @param obstacles The number of obstacles tried in a regular room, boss rooms have none
+     */
+    public RoomSettings(int minEnemies, int maxEnemies, double fireChance, int enemyDamage, FirePattern[] patterns,
+                        int bulletsPerShot, double spreadAngle, double spiralStep, FirePattern bossPattern, int bossDamage,
+                        int obstacles) {
+        if (minEnemies < 1 || maxEnemies < minEnemies) { throw new IllegalArgumentException("Bad enemy counts"); }
+        if (patterns.length == 0 || bulletsPerShot < 1) { throw new IllegalArgumentException("Enemies need a way to fire"); }
+        this.minEnemies = minEnemies;
+        this.maxEnemies = maxEnemies;
+        this.fireChance = fireChance;
+        this.enemyDamage = enemyDamage;
+        this.patterns = patterns.clone();
+        this.bulletsPerShot = bulletsPerShot;
+        this.spreadAngle = spreadAngle;
+        this.spiralStep = spiralStep;
+        this.spreadFan = Fan.across(bulletsPerShot, spreadAngle); // a single bullet goes straight at the player
+        this.ringFan = Fan.around(bulletsPerShot);
+        this.spiralCos = (float) Math.cos(spiralStep);
+        this.spiralSin = (float) Math.sin(spiralStep);
+        this.bossPattern = bossPattern;
+        this.bossDamage = bossDamage;
+        this.obstacles = obstacles;
+    }
+
+    /**
+     * Get the settings a game mode plays with
+     * @param mode How the game is played
+     * @return the settings for the mode
+     */
+    public static RoomSettings forMode(GameMode mode) {
+        return mode == GameMode.BULLET_HELL ? BULLET_HELL : ADVENTURE;
+    }
+
+    /**
+     * Get the same settings with a different number of obstacles, for example none to benchmark open rooms
+     * @param obstacles The number of obstacles tried in a regular room
+     * @return the new settings
+     */
+    public RoomSettings withObstacles(int obstacles) {
+        return new RoomSettings(minEnemies, maxEnemies, fireChance, enemyDamage, patterns, bulletsPerShot,
+            spreadAngle, spiralStep, bossPattern, bossDamage, obstacles);
+    }
+
+    /** Get the fewest enemies in a regular room */
+    public int getMinEnemies() { return this.minEnemies; }
+
+    /** Get the most enemies in a regular room */
+    public int getMaxEnemies() { return this.maxEnemies; }
+
+    /** Get the chance each enemy fires each tick */
+    public double getFireChance() { return this.fireChance; }
+
+    /** Get the damage of a regular enemy's bullets */
+    public int getEnemyDamage() { return this.enemyDamage; }
+
+    /** Get the number of patterns regular enemies can be given */
+    public int getNumPatterns() { return this.patterns.length; }
+
+    /** Get one of the patterns regular enemies can be given */
+    public FirePattern getPattern(int i) { return this.patterns[i]; }
+
+    /** Get the number of bullets in a spread or ring, or arms of a spiral */
+    public int getBulletsPerShot() { return this.bulletsPerShot; }
+
+    /** Get the angle covered by a spread, in radians */
+    public double getSpreadAngle() { return this.spreadAngle; }
+
+    /** Get how far a spiral turns each shot, in radians */
+    public double getSpiralStep() { return this.spiralStep; }
+
+    /** Get the directions of the bullets of a spread, relative to the player */
+    public Fan getSpreadFan() { return this.spreadFan; }
+
+    /** Get the directions of the bullets of a ring or the arms of a spiral */
+    public Fan getRingFan() { return this.ringFan; }
+
+    /** Get the cosine of how far a spiral turns each shot */
+    public float getSpiralCos() { return this.spiralCos; }
+
+    /** Get the sine of how far a spiral turns each shot */
+    public float getSpiralSin() { return this.spiralSin; }
+
+    /** Get the pattern of the boss */
+    public FirePattern getBossPattern() { return this.bossPattern; }
+
+    /** Get the damage of the boss's bullets */
+    public int getBossDamage() { return this.bossDamage; }
+
+    /** Get the number of obstacles tried in a regular room */
+    public int getObstacles() { return this.obstacles; }
+}
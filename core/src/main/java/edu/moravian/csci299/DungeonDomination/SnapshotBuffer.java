@@ -0,0 +1,46 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free triple buffer of RenderSnapshots. The game thread always has a snapshot to write
+ * into, the drawing thread always has a snapshot to read from, and the third snapshot holds the
+ * newest finished tick. Neither thread ever waits for the other.
+ */
+public class SnapshotBuffer {
+
+    /** Set in the state when the middle snapshot has not been read yet */
+    private static final int FRESH = 4;
+
+    /** The three snapshots */
+    private final RenderSnapshot[] snapshots = {
+        new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()
+    };
+
+    /** Index of the middle snapshot and whether it is fresh */
+    private final AtomicInteger state = new AtomicInteger(1);
+
+    /** Index of the snapshot being written and the snapshot being read */
+    private int back = 0, front = 2;
+
+    /**
+     * Get the snapshot the game thread should fill next. Only call from the game thread.
+     * @return the snapshot to write into
+     */
+    public RenderSnapshot getBack() { return snapshots[back]; }
+
+    /** Make the filled back snapshot the newest one. Only call from the game thread. */
+    public void publish() { back = state.getAndSet(back | FRESH) & ~FRESH; }
+
+    /**
+     * Get the newest published snapshot. Only call from the drawing thread.
+     * The snapshot stays valid until the next call.
+     * @return the snapshot to draw
+     */
+    public RenderSnapshot acquire() {
+        if ((state.get() & FRESH) != 0) {
+            front = state.getAndSet(front) & ~FRESH;
+        }
+        return snapshots[front];
+    }
+}
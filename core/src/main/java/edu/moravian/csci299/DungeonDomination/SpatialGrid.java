@@ -0,0 +1,206 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static edu.moravian.csci299.DungeonDomination.Util.timeOfImpact;
+import static edu.moravian.csci299.DungeonDomination.Util.withinRange;
+
+/**
+ * A uniform grid over a room used to find which characters are near a point without checking
+ * every character. Characters are bucketed by the cell their center is in, so with cells at
+ * least as wide as the largest character only the cells around a point need to be checked.
+ * The grid is rebuilt from a list of characters and keeps indices into that list.
+ */
+public class SpatialGrid {
+
+    /** No ids to skip */
+    private static final int[] NO_IDS = new int[0];
+
+    /** Size of the grid and the largest radius it was made for */
+    private final float cellSize, maxRadius;
+    private final int columns, rows;
+
+    /** Where each cell's characters start in items, cell i has items[cellStart[i]..cellStart[i+1]) */
+    private final int[] cellStart;
+
+    /** Indices of the characters, sorted by cell and then by index */
+    private int[] items = new int[16];
+
+    /** The cell of each character from the last build */
+    private int[] cells = new int[16];
+
+    /**
+     * Create a grid covering a room
+     * @param width the width of the room
+     * @param height the height of the room
+     * @param maxRadius the radius of the largest character that will be put in the grid
+     */
+    public SpatialGrid(int width, int height, float maxRadius) {
+        this.maxRadius = maxRadius;
+        this.cellSize = Math.max(1f, 2 * maxRadius * Game.DP_TO_PX_FACTOR);
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+    }
+
+    /** Get the column of an x coordinate, clamped to the grid */
+    private int column(float x) { return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize))); }
+
+    /** Get the row of a y coordinate, clamped to the grid */
+    private int row(float y) { return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize))); }
+
+    /**
+     * Put all characters into the grid, replacing whatever was in it before.
+     * Characters outside of the room are put into the nearest edge cell.
+     * @param characters the characters to index
+     */
+    public void build(List<? extends Character> characters) {
+        int n = characters.size();
+        if (items.length < n) {
+            items = new int[Math.max(n, items.length * 2)];
+            cells = new int[items.length];
+        }
+
+        // count the characters in each cell
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < n; i++) {
+            Vector2 location = characters.get(i).getLocation();
+            int cell = row(location.y) * columns + column(location.x);
+            cells[i] = cell;
+            cellStart[cell + 1]++;
+        }
+
+        // turn the counts into start positions, then place each character, which moves
+        // every start position to the end of its cell so they are shifted back afterwards
+        int numCells = columns * rows;
+        for (int c = 0; c < numCells; c++) { cellStart[c + 1] += cellStart[c]; }
+        for (int i = 0; i < n; i++) { items[cellStart[cells[i]]++] = i; }
+        for (int c = numCells; c > 0; c--) { cellStart[c] = cellStart[c - 1]; }
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Find the first character, in the order of the list the grid was built from, whose circle
+     * overlaps a circle at the given point. This gives the same answer as checking every character
+     * in the list in order.
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param radius the radius around the point, in dp
+     * @param characters the list the grid was last built from
+     * @return the lowest index of an overlapping character, or -1 if there is none
+     */
+    public int findFirstWithin(float x, float y, float radius, List<? extends Character> characters) {
+        float range = (radius + maxRadius) * Game.DP_TO_PX_FACTOR;
+        int firstColumn = column(x - range), lastColumn = column(x + range);
+        int firstRow = row(y - range), lastRow = row(y + range);
+        int found = -1;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = items[k];
+                    if (found >= 0 && i >= found) { break; } // the rest of the cell comes later in the list
+                    Character character = characters.get(i);
+                    if (withinRange(character.getLocation(), x, y, (radius + character.getRadius()) * Game.DP_TO_PX_FACTOR)) {
+                        found = i;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find every character whose circle overlaps a circle at the given point
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param radius the radius around the point, in dp
+     * @param characters the list the grid was last built from
+     * @param found where to write the indices of the overlapping characters, no more than fit are found
+     * @return the number of indices written
+     */
+    public int findAllWithin(float x, float y, float radius, List<? extends Character> characters, int[] found) {
+        float range = (radius + maxRadius) * Game.DP_TO_PX_FACTOR;
+        int firstColumn = column(x - range), lastColumn = column(x + range);
+        int firstRow = row(y - range), lastRow = row(y + range);
+        int count = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    if (count == found.length) { return count; }
+                    int i = items[k];
+                    Character character = characters.get(i);
+                    if (withinRange(character.getLocation(), x, y, (radius + character.getRadius()) * Game.DP_TO_PX_FACTOR)) {
+                        found[count++] = i;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find the character a circle moving in a straight line touches first. Ties are broken by the
+     * order of the list the grid was built from.
+     * @param x0 the x coordinate the circle moves from
+     * @param y0 the y coordinate the circle moves from
+     * @param x1 the x coordinate the circle moves to
+     * @param y1 the y coordinate the circle moves to
+     * @param radius the radius of the moving circle, in dp
+     * @param characters the list the grid was last built from
+     * @return the index of the first character touched, or -1 if there is none
+     */
+    public int findFirstAlong(float x0, float y0, float x1, float y1, float radius, List<? extends Character> characters) {
+        return findFirstAlong(x0, y0, x1, y1, radius, characters, NO_IDS, 0);
+    }
+
+    /**
+     * Find the character a circle moving in a straight line touches first, skipping the ones with
+     * the given ids, for example the ones a piercing bullet already passed through
+     * @param x0 the x coordinate the circle moves from
+     * @param y0 the y coordinate the circle moves from
+     * @param x1 the x coordinate the circle moves to
+     * @param y1 the y coordinate the circle moves to
+     * @param radius the radius of the moving circle, in dp
+     * @param characters the list the grid was last built from
+     * @param skipIds the ids of the characters to skip
+     * @param skipCount the number of ids in skipIds to use
+     * @return the index of the first character touched, or -1 if there is none
+     */
+    public int findFirstAlong(float x0, float y0, float x1, float y1, float radius, List<? extends Character> characters,
+                              int[] skipIds, int skipCount) {
+        float range = (radius + maxRadius) * Game.DP_TO_PX_FACTOR;
+        int firstColumn = column(Math.min(x0, x1) - range), lastColumn = column(Math.max(x0, x1) + range);
+        int firstRow = row(Math.min(y0, y1) - range), lastRow = row(Math.max(y0, y1) + range);
+        float dx = x1 - x0, dy = y1 - y0;
+        int found = -1;
+        float foundTime = Float.MAX_VALUE;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = items[k];
+                    Character character = characters.get(i);
+                    if (contains(skipIds, skipCount, character.getId())) { continue; }
+                    float time = timeOfImpact(x0, y0, dx, dy, character.getLocation(),
+                        (radius + character.getRadius()) * Game.DP_TO_PX_FACTOR);
+                    if (time >= 0 && (time < foundTime || (time == foundTime && i < found))) {
+                        found = i;
+                        foundTime = time;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Get if an id is one of the first count ids in an array */
+    private static boolean contains(int[] ids, int count, int id) {
+        for (int k = 0; k < count; k++) {
+            if (ids[k] == id) { return true; }
+        }
+        return false;
+    }
+}
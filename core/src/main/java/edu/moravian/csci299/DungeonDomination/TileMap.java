@@ -0,0 +1,199 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.Random;
+
+/**
+ * The obstacles in a room, stored as one bit per square tile. Tiles are the same size as the cells
+ * of a FlowField so the two line up. Whether a point, a circle, or a circle's path is blocked only
+ * looks at the few tiles under it, so checking a character or bullet against every obstacle in the
+ * room costs the same however many obstacles there are. The map is made along with its room and never changes
+ * afterwards, which lets a RenderSnapshot share it with the drawing thread.
+ */
+public class TileMap {
+
+    /** Size of a tile, in px */
+    public static final float TILE_SIZE = FlowField.CELL_SIZE;
+
+    /** Tiles along the edges of the room and around its center that are kept open, so the player never enters a room inside an obstacle */
+    private static final int EDGE_MARGIN = 2, CENTER_MARGIN = 3;
+
+    /** Open tiles kept between obstacles, so there is always a way around them */
+    private static final int GAP = 2;
+
+    /** Sizes of an obstacle, in tiles, big enough that no bullet moves through one in a single tick */
+    private static final int MIN_SIZE = 2, MAX_SIZE = 4;
+
+    /** How far a circle can reach into a tile and still not overlap it, in px, so rounding errors don't stop an enemy exactly as wide as a tile from moving through a gap */
+    private static final float TOLERANCE = 0.01f;
+
+    /** Number of tries at placing an obstacle in an open space before giving up on it */
+    private static final int PLACEMENT_TRIES = 8;
+
+    /** Size of the map */
+    private final int columns, rows;
+
+    /** One bit per tile, set if the tile is blocked, tile i is bit i % 64 of word i / 64 */
+    private final long[] blocked;
+
+    /** Number of blocked tiles */
+    private int numBlocked = 0;
+
+    /**
+     * Create an open map covering a room
+     * @param width the width of the room
+     * @param height the height of the room
+     */
+    public TileMap(int width, int height) {
+        this.columns = Math.max(1, (int) Math.ceil(width / TILE_SIZE));
+        this.rows = Math.max(1, (int) Math.ceil(height / TILE_SIZE));
+        this.blocked = new long[(columns * rows + 63) / 64];
+    }
+
+    /**
+     * Create a map covering a room with obstacles placed at random
+     * @param width the width of the room
+     * @param height the height of the room
+     * @param obstacles the number of obstacles to try to place, fewer fit in small rooms
+     * @param random the source of randomness for where they go
+     * @return the new map
+     */
+    public static TileMap generate(int width, int height, int obstacles, Random random) {
+        TileMap map = new TileMap(width, height);
+        for (int i = 0; i < obstacles; i++) {
+            for (int attempt = 0; attempt < PLACEMENT_TRIES; attempt++) {
+                int obstacleColumns = MIN_SIZE + random.nextInt(MAX_SIZE - MIN_SIZE + 1);
+                int obstacleRows = MIN_SIZE + random.nextInt(MAX_SIZE - MIN_SIZE + 1);
+                int freeColumns = map.columns - 2 * EDGE_MARGIN - obstacleColumns + 1;
+                int freeRows = map.rows - 2 * EDGE_MARGIN - obstacleRows + 1;
+                if (freeColumns <= 0 || freeRows <= 0) { continue; }
+                int column = EDGE_MARGIN + random.nextInt(freeColumns), row = EDGE_MARGIN + random.nextInt(freeRows);
+                if (map.canPlace(column, row, obstacleColumns, obstacleRows)) {
+                    map.fill(column, row, obstacleColumns, obstacleRows);
+                    break;
+                }
+            }
+        }
+        return map;
+    }
+
+    /** Get if a rectangle of tiles and the gap around it are open and away from the center of the room */
+    private boolean canPlace(int column, int row, int width, int height) {
+        int centerColumn = columns / 2, centerRow = rows / 2;
+        if (column <= centerColumn + CENTER_MARGIN && column + width > centerColumn - CENTER_MARGIN
+                && row <= centerRow + CENTER_MARGIN && row + height > centerRow - CENTER_MARGIN) {
+            return false;
+        }
+        for (int r = row - GAP; r < row + height + GAP; r++) {
+            for (int c = column - GAP; c < column + width + GAP; c++) {
+                if (isBlocked(c, r)) { return false; }
+            }
+        }
+        return true;
+    }
+
+    /** Block a rectangle of tiles */
+    private void fill(int column, int row, int width, int height) {
+        for (int r = row; r < row + height; r++) {
+            for (int c = column; c < column + width; c++) {
+                int tile = r * columns + c;
+                blocked[tile >>> 6] |= 1L << tile;
+                numBlocked++;
+            }
+        }
+    }
+
+    /** Get the number of columns of tiles */
+    public int getColumns() { return this.columns; }
+
+    /** Get the number of rows of tiles */
+    public int getRows() { return this.rows; }
+
+    /** Get the number of blocked tiles */
+    public int getNumBlocked() { return this.numBlocked; }
+
+    /**
+     * Get if a tile is blocked. Tiles outside of the map are open, the edges of the room are
+     * handled separately.
+     * @param column the column of the tile
+     * @param row the row of the tile
+     * @return true if the tile is blocked
+     */
+    public boolean isBlocked(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) { return false; }
+        int tile = row * columns + column;
+        return (blocked[tile >>> 6] & (1L << tile)) != 0;
+    }
+
+    /**
+     * Pick an open tile at random, every open tile being as likely
+     * @param random the source of randomness
+     * @return the index of the tile, its column is index % getColumns() and its row index / getColumns()
+     */
+    public int randomOpenTile(Random random) {
+        int n = random.nextInt(columns * rows - numBlocked); // the margins are always open
+        for (int tile = 0; ; tile++) {
+            if ((blocked[tile >>> 6] & (1L << tile)) == 0 && n-- == 0) { return tile; }
+        }
+    }
+
+    /**
+     * Get if a circle overlaps any blocked tile. Only the tiles under the circle's bounding box are
+     * checked, and the closest point of each to the circle's center. A circle only just touching a
+     * tile doesn't overlap it.
+     * @param x the x coordinate of the center
+     * @param y the y coordinate of the center
+     * @param radius the radius of the circle, in px
+     * @return true if the circle overlaps a blocked tile
+     */
+    public boolean overlapsCircle(float x, float y, float radius) {
+        if (numBlocked == 0) { return false; }
+        radius -= TOLERANCE;
+        int firstColumn = (int) Math.floor((x - radius) / TILE_SIZE), lastColumn = (int) Math.floor((x + radius) / TILE_SIZE);
+        int firstRow = (int) Math.floor((y - radius) / TILE_SIZE), lastRow = (int) Math.floor((y + radius) / TILE_SIZE);
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                if (!isBlocked(c, r)) { continue; }
+                float closestX = Math.max(c * TILE_SIZE, Math.min(x, (c + 1) * TILE_SIZE));
+                float closestY = Math.max(r * TILE_SIZE, Math.min(y, (r + 1) * TILE_SIZE));
+                float dx = x - closestX, dy = y - closestY;
+                if (dx*dx + dy*dy < radius*radius) { return true; }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get if a circle moving in a straight line overlaps any blocked tile on the way
+     * @param x0 the x coordinate the circle moves from
+     * @param y0 the y coordinate the circle moves from
+     * @param x1 the x coordinate the circle moves to
+     * @param y1 the y coordinate the circle moves to
+     * @param radius the radius of the circle, in px
+     * @return true if the circle overlaps a blocked tile anywhere along the line
+     */
+    public boolean overlapsPath(float x0, float y0, float x1, float y1, float radius) {
+        return timeOfImpact(x0, y0, x1, y1, radius) >= 0;
+    }
+
+    /**
+     * Find when a circle moving in a straight line first overlaps a blocked tile. The circle is
+     * checked at points along the line no more than half its radius apart, so it can't clip the
+     * corner of a tile or pass through one between the start and the end.
+     * @param x0 the x coordinate the circle moves from
+     * @param y0 the y coordinate the circle moves from
+     * @param x1 the x coordinate the circle moves to
+     * @param y1 the y coordinate the circle moves to
+     * @param radius the radius of the circle, in px
+     * @return the time from 0 to 1 of the first point that overlaps a blocked tile, or -1 if none do
+     */
+    public float timeOfImpact(float x0, float y0, float x1, float y1, float radius) {
+        if (numBlocked == 0) { return -1f; }
+        float dx = x1 - x0, dy = y1 - y0;
+        int steps = Math.max(1, (int) Math.ceil(Math.sqrt(dx*dx + dy*dy) / (radius / 2)));
+        for (int k = 1; k <= steps; k++) {
+            float t = (float) k / steps;
+            if (overlapsCircle(x0 + dx * t, y0 + dy * t, radius)) { return t; }
+        }
+        return -1f;
+    }
+}
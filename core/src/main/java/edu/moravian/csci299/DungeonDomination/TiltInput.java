@@ -0,0 +1,71 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns tilt readings into at most one change of the player's direction per tick. The sensor
+ * thread only stores its latest reading, packed into one AtomicLong, so offering never blocks or
+ * allocates and readings between ticks are simply replaced. Once per tick the game thread low-pass
+ * filters the latest reading, ignores it inside a dead zone around level, and only changes the
+ * direction when it turned enough to matter, which keeps the recorded input small.
+ */
+public class TiltInput {
+
+    /** Stored when there has been no reading yet, both halves are NaN which a sensor never gives */
+    private static final long NO_READING = -1L;
+
+    /** How far the filtered tilt moves toward the latest reading each tick, from 0 (never) to 1 (at once) */
+    private static final float SMOOTHING = 0.25f;
+
+    /** Tilts smaller than this are treated as level and don't change the direction, in m/s^2 */
+    private static final float DEAD_ZONE = 0.5f;
+
+    /** Directions closer than this to the current one are not applied, in radians */
+    private static final double MIN_TURN = 0.02;
+
+    /** The latest reading, x in the high 32 bits and y in the low 32 bits */
+    private final AtomicLong latest = new AtomicLong(NO_READING);
+
+    /** The filtered tilt and the direction last applied, only used on the game thread */
+    private float filteredX, filteredY;
+    private boolean hasFiltered = false;
+    private double angle = Double.NaN;
+
+    /**
+     * Store the latest tilt reading, replacing any not yet used. Called from the sensor thread.
+     * @param x the tilt along the direction of an angle of 0
+     * @param y the tilt along the direction of an angle of pi/2
+     */
+    public void offer(float x, float y) {
+        latest.lazySet(((long) Float.floatToRawIntBits(x) << 32) | (Float.floatToRawIntBits(y) & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Filter the latest reading into the tilt, called once per tick on the game thread
+     * @return true if the direction changed, see getAngle
+     */
+    public boolean update() {
+        long packed = latest.get();
+        if (packed == NO_READING) { return false; }
+        float x = Float.intBitsToFloat((int) (packed >>> 32));
+        float y = Float.intBitsToFloat((int) packed);
+        if (hasFiltered) {
+            filteredX += (x - filteredX) * SMOOTHING;
+            filteredY += (y - filteredY) * SMOOTHING;
+        } else {
+            filteredX = x;
+            filteredY = y;
+            hasFiltered = true;
+        }
+        if (filteredX * filteredX + filteredY * filteredY < DEAD_ZONE * DEAD_ZONE) { return false; }
+        double newAngle = Math.atan2(filteredY, filteredX);
+        if (!Double.isNaN(angle) && Math.abs(Math.IEEEremainder(newAngle - angle, 2 * Math.PI)) < MIN_TURN) {
+            return false;
+        }
+        angle = newAngle;
+        return true;
+    }
+
+    /** Get the direction from the filtered tilt, in radians, as of the last update that returned true */
+    public double getAngle() { return this.angle; }
+}
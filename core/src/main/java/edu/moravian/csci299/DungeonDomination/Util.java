@@ -0,0 +1,58 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * Utilities for use by other classes.
+ */
+public class Util {
+    /**
+     * Checks if two points are closer than a certain range of each other.
+     * @param a the first point
+     * @param b the first point
+     * @param range the maximum distance allowed between the points
+     * @return true if the distance from a to b is less than range
+     */
+    public static boolean withinRange(Vector2 a, Vector2 b, double range) {
+        float dx = a.x - b.x;
+        float dy = a.y - b.y;
+        return dx*dx + dy*dy < range*range;
+    }
+
+    /**
+     * Checks if a point is closer than a certain range to another point given by its coordinates.
+     * @param a the first point
+     * @param x the x coordinate of the second point
+     * @param y the y coordinate of the second point
+     * @param range the maximum distance allowed between the points
+     * @return true if the distance between the points is less than range
+     */
+    public static boolean withinRange(Vector2 a, float x, float y, double range) {
+        float dx = a.x - x;
+        float dy = a.y - y;
+        return dx*dx + dy*dy < range*range;
+    }
+
+    /**
+     * Finds when a circle moving in a straight line first touches a still circle. The moving circle
+     * goes from (x, y) to (x + dx, y + dy) over a time of 0 to 1.
+     * @param x the starting x coordinate of the moving circle
+     * @param y the starting y coordinate of the moving circle
+     * @param dx the distance moved in the x direction
+     * @param dy the distance moved in the y direction
+     * @param center the center of the still circle
+     * @param range the sum of the radii of the two circles
+     * @return the time from 0 to 1 the circles first are closer than range, or -1 if they never are
+     */
+    public static float timeOfImpact(float x, float y, float dx, float dy, Vector2 center, double range) {
+        float fx = x - center.x;
+        float fy = y - center.y;
+        double c = fx*fx + fy*fy - range*range;
+        if (c < 0) { return 0f; } // already touching at the start
+        double a = dx*dx + dy*dy;
+        if (a == 0) { return -1f; } // not moving
+        double b = 2 * (fx*dx + fy*dy);
+        double discriminant = b*b - 4*a*c;
+        if (discriminant < 0) { return -1f; } // the line misses the circle
+        double t = (-b - Math.sqrt(discriminant)) / (2*a);
+        return t >= 0 && t <= 1 ? (float) t : -1f;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * A point or direction with float x and y coordinates. This is used by the simulation instead of
+ * android.graphics.PointF so that the game can run on a plain JVM.
+ */
+public class Vector2 {
+
+    /** The coordinates */
+    public float x, y;
+
+    /** Create a vector at 0,0 */
+    public Vector2() { }
+
+    /**
+     * Create a vector with the given coordinates
+     * @param x the x coordinate
+     * @param y the y coordinate
+     */
+    public Vector2(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Set both coordinates
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    public void set(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Move the vector by the given amounts
+     * @param dx the amount to add to x
+     * @param dy the amount to add to y
+     */
+    public void offset(float dx, float dy) {
+        this.x += dx;
+        this.y += dy;
+    }
+}
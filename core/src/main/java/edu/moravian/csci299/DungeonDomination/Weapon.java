@@ -0,0 +1,95 @@
+package edu.moravian.csci299.DungeonDomination;
+
+/**
+ * A weapon: how much damage its bullets do, how fast it fires while held, and the shape of each
+ * shot. A shot is one or more bullets spread evenly across an angle, and each bullet can pierce
+ * through some enemies before it stops and can have a limited range. The weapons the player can use are listed in the table
+ * read by Weapons.
+ */
+public class Weapon {
+
+    /** Ticks between shots while the trigger is held, unless a weapon says otherwise */
+    public static final int DEFAULT_FIRE_INTERVAL = 10;
+
+    /** Speed of a weapon whose bullets travel at the speed of the character firing them */
+    public static final double CHARACTER_SPEED = 0;
+
+    /** Lifetime of bullets that last until they hit something or leave the room */
+    public static final int UNLIMITED_LIFETIME = BulletStore.UNLIMITED_LIFETIME;
+
+    private final int damage; // weapon's damage
+    private final int fireInterval; // ticks between shots
+    private final int projectiles; // bullets in each shot
+    private final double spread; // angle the bullets of a shot cover, in radians
+    private final int pierce; // enemies each bullet passes through before it stops
+    private final double speed; // speed of the bullets in dp/tick, or CHARACTER_SPEED
+    private final int lifetime; // ticks each bullet lasts, or UNLIMITED_LIFETIME
+    private final Fan fan; // directions of the bullets of a shot relative to its aim
+
+    /**
+     * Constructor for new Weapon firing one bullet at a time at the character's bullet speed
+     * @param damage damage the weapon does
+     */
+    public Weapon(int damage) { this(damage, DEFAULT_FIRE_INTERVAL); }
+
+    /**
+     * Constructor for new Weapon firing one bullet at a time at the character's bullet speed
+     * @param damage damage the weapon does
+     * @param fireInterval ticks between shots while the trigger is held, at least 1
+     */
+    public Weapon(int damage, int fireInterval) { this(damage, fireInterval, 1, 0, 0, CHARACTER_SPEED, UNLIMITED_LIFETIME); }
+
+    /**
+     * Constructor for new Weapon
+     * @param damage damage each bullet does
+     * @param fireInterval ticks between shots while the trigger is held, at least 1
+     * @param projectiles bullets in each shot, at least 1
+     * @param spread angle the bullets of a shot cover, in radians
+     * @param pierce enemies each bullet passes through before it stops, up to BulletStore.MAX_PIERCE
+     * @param speed speed of the bullets in dp/tick, or CHARACTER_SPEED
+     * @param lifetime ticks each bullet lasts, or 0 or UNLIMITED_LIFETIME for bullets that last until they hit something
+     */
+    public Weapon(int damage, int fireInterval, int projectiles, double spread, int pierce, double speed, int lifetime) {
+        this.damage = damage;
+        this.fireInterval = Math.max(1, fireInterval);
+        this.projectiles = Math.max(1, projectiles);
+        this.spread = spread;
+        this.pierce = Math.max(0, pierce);
+        this.speed = speed;
+        this.lifetime = lifetime > 0 ? lifetime : UNLIMITED_LIFETIME;
+        this.fan = Fan.across(this.projectiles, spread);
+    }
+
+    /**
+     * Get the same weapon with a different damage, for example after upgrades
+     * @param damage damage each bullet does
+     * @return the new weapon
+     */
+    public Weapon withDamage(int damage) {
+        return new Weapon(damage, fireInterval, projectiles, spread, pierce, speed, lifetime);
+    }
+    
+    /** Get the damage of the weapon */
+    public int getDamage() { return this.damage; }
+
+    /** Get the number of ticks between shots while the trigger is held */
+    public int getFireInterval() { return this.fireInterval; }
+
+    /** Get the number of bullets in each shot */
+    public int getProjectiles() { return this.projectiles; }
+
+    /** Get the angle the bullets of a shot cover, in radians */
+    public double getSpread() { return this.spread; }
+
+    /** Get the number of enemies each bullet passes through before it stops */
+    public int getPierce() { return this.pierce; }
+
+    /** Get the number of ticks each bullet lasts, or UNLIMITED_LIFETIME */
+    public int getLifetime() { return this.lifetime; }
+
+    /** Get the directions of the bullets of a shot relative to its aim */
+    public Fan getFan() { return this.fan; }
+
+    /** Get the speed of the bullets in dp/tick, or CHARACTER_SPEED */
+    public double getSpeed() { return this.speed; }
+}
@@ -0,0 +1,85 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The table of weapons, read once from weapons.csv next to this class the first time a weapon is
+ * asked for. Each line of the table is a weapon's name, ticks between shots, projectiles, spread
+ * in degrees, pierce, speed, and lifetime in ticks. Damage isn't in the table since it comes from the player's
+ * upgrades. Blank lines and lines starting with # are skipped.
+ */
+public class Weapons {
+
+    /** The weapon the player has unless a game mode gives them another */
+    public static final String PISTOL = "pistol";
+
+    /** The weapon the player has in endless mode, its bullets pierce through the crowds of later rooms */
+    public static final String RIFLE = "rifle";
+
+    /** The weapon the player has in bullet hell mode */
+    public static final String SPREAD = "spread";
+
+    /** The weapons in the table by name, all with a damage of 0 */
+    private static final Map<String, Weapon> TABLE = load();
+
+    private Weapons() { }
+
+    /**
+     * Get a weapon from the table
+     * @param name the name of the weapon
+     * @param damage damage each bullet does
+     * @return the weapon
+     * @throws IllegalArgumentException if there is no weapon with the name
+     */
+    public static Weapon get(String name, int damage) {
+        Weapon weapon = TABLE.get(name);
+        if (weapon == null) { throw new IllegalArgumentException("Unknown weapon " + name); }
+        return weapon.withDamage(damage);
+    }
+
+    /**
+     * Get the weapon the player starts a game mode with
+     * @param mode How the game is played
+     * @param damage damage each bullet does
+     * @return the weapon
+     */
+    public static Weapon forMode(GameMode mode, int damage) {
+        switch (mode) {
+            case ENDLESS: return get(RIFLE, damage);
+            case BULLET_HELL: return get(SPREAD, damage);
+            default: return get(PISTOL, damage);
+        }
+    }
+
+    /** Read the table */
+    private static Map<String, Weapon> load() {
+        Map<String, Weapon> table = new HashMap<>();
+        InputStream in = Weapons.class.getResourceAsStream("weapons.csv");
+        if (in == null) { throw new IllegalStateException("Missing weapons.csv"); }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) { continue; }
+                String[] values = line.split(",");
+                if (values.length != 7) { throw new IllegalStateException("Bad line in weapons.csv: " + line); }
+                table.put(values[0].trim(), new Weapon(0,
+                    Integer.parseInt(values[1].trim()),
+                    Integer.parseInt(values[2].trim()),
+                    Math.toRadians(Double.parseDouble(values[3].trim())),
+                    Integer.parseInt(values[4].trim()),
+                    Double.parseDouble(values[5].trim()),
+                    Integer.parseInt(values[6].trim())));
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Could not read weapons.csv", e);
+        }
+        return table;
+    }
+}
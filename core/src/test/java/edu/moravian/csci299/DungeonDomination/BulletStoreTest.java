@@ -0,0 +1,118 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulletStoreTest {
+
+    private static final int WIDTH = 1000, HEIGHT = 1000;
+
+    @Test
+    public void removingAHitBulletSwapsTheLastBulletIntoItsPlace() {
+        BulletStore bullets = new BulletStore();
+        for (int i = 0; i < 4; i++) { bullets.spawn(100 * i, 100, 0, 0, i); }
+        bullets.setHit(1);
+        bullets.removeFinished(WIDTH, HEIGHT);
+        assertEquals(3, bullets.size());
+        assertEquals(0, bullets.getDamage(0));
+        assertEquals(3, bullets.getDamage(1));
+        assertEquals(300f, bullets.getX(1), 0f);
+        assertEquals(2, bullets.getDamage(2));
+    }
+
+    @Test
+    public void removingTheLastBulletsLeavesTheRest() {
+        BulletStore bullets = new BulletStore();
+        for (int i = 0; i < 4; i++) { bullets.spawn(100 * i, 100, 0, 0, i); }
+        bullets.setHit(2);
+        bullets.setHit(3);
+        bullets.removeFinished(WIDTH, HEIGHT);
+        assertEquals(2, bullets.size());
+        assertEquals(0, bullets.getDamage(0));
+        assertEquals(1, bullets.getDamage(1));
+    }
+
+    @Test
+    public void bulletsThatLeaveTheRoomAreRemoved() {
+        BulletStore bullets = new BulletStore();
+        bullets.spawn(WIDTH - 1, 500, 100, 0, 1);
+        bullets.spawn(500, 500, 1, 0, 2);
+        bullets.move();
+        bullets.removeFinished(WIDTH, HEIGHT);
+        assertEquals(1, bullets.size());
+        assertEquals(2, bullets.getDamage(0));
+        assertEquals(500f, bullets.getPreviousX(0), 0f);
+        assertEquals(501f, bullets.getX(0), 0f);
+    }
+
+    @Test
+    public void growingKeepsEveryBullet() {
+        BulletStore bullets = new BulletStore();
+        for (int i = 0; i < 1000; i++) { bullets.spawn(i % WIDTH, 10, 0, 0, i); }
+        assertEquals(1000, bullets.size());
+        assertTrue(bullets.capacity() >= 1000);
+        for (int i = 0; i < 1000; i++) { assertEquals(i, bullets.getDamage(i)); }
+    }
+
+    @Test
+    public void aFanIsSpreadEvenlyAroundItsAim() {
+        BulletStore bullets = new BulletStore();
+        bullets.spawnFan(500, 500, 0, 1, Fan.across(3, Math.PI / 2), 10, 1, BulletStore.UNLIMITED_LIFETIME, 0);
+        bullets.move();
+        assertEquals(3, bullets.size());
+        for (int i = 0; i < 3; i++) {
+            double angle = Math.PI / 4 * (i + 1);
+            assertEquals(500 + 10 * Math.cos(angle) * Game.DP_TO_PX_FACTOR, bullets.getX(i), 0.001);
+            assertEquals(500 + 10 * Math.sin(angle) * Game.DP_TO_PX_FACTOR, bullets.getY(i), 0.001);
+        }
+    }
+
+    @Test
+    public void aFanAroundGoesAllTheWayAround() {
+        BulletStore bullets = new BulletStore();
+        bullets.spawnFan(500, 500, 1, 0, Fan.around(4), 10, 1, BulletStore.UNLIMITED_LIFETIME, 0);
+        bullets.move();
+        float[][] expected = { { 10, 0 }, { 0, 10 }, { -10, 0 }, { 0, -10 } };
+        for (int i = 0; i < 4; i++) {
+            assertEquals(500 + expected[i][0] * Game.DP_TO_PX_FACTOR, bullets.getX(i), 0.001);
+            assertEquals(500 + expected[i][1] * Game.DP_TO_PX_FACTOR, bullets.getY(i), 0.001);
+        }
+    }
+
+    @Test
+    public void aBulletIsRemovedOnceItsLifetimeRunsOut() {
+        BulletStore bullets = new BulletStore();
+        bullets.spawn(500, 500, 1, 0, 1, 3, 0);
+        bullets.spawn(500, 500, 1, 0, 2);
+        for (int tick = 0; tick < 2; tick++) {
+            bullets.move();
+            bullets.removeFinished(WIDTH, HEIGHT);
+        }
+        assertEquals(2, bullets.size());
+        bullets.move();
+        bullets.removeFinished(WIDTH, HEIGHT);
+        assertEquals(1, bullets.size());
+        assertEquals(2, bullets.getDamage(0));
+    }
+
+    @Test
+    public void aPiercingBulletRemembersEveryEnemyItPassedThrough() {
+        BulletStore bullets = new BulletStore();
+        bullets.spawn(100, 100, 0, 0, 1);
+        bullets.spawn(500, 500, 0, 0, 2, BulletStore.UNLIMITED_LIFETIME, 2);
+        assertTrue(bullets.hitEnemy(1, 5));
+        assertTrue(bullets.hitEnemy(1, 7));
+        assertFalse(bullets.getHit(1));
+        bullets.setHit(0);
+        bullets.removeFinished(WIDTH, HEIGHT);
+        int[] ids = new int[BulletStore.MAX_PIERCE];
+        assertEquals(2, bullets.getPassedThrough(0, ids));
+        assertEquals(5, ids[0]);
+        assertEquals(7, ids[1]);
+        assertFalse(bullets.hitEnemy(0, 9));
+        assertTrue(bullets.getHit(0));
+    }
+}
@@ -0,0 +1,60 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FixedTimestepTest {
+
+    private int ticks;
+    private FixedTimestep timestep;
+
+    @Before
+    public void setUp() {
+        ticks = 0;
+        timestep = new FixedTimestep(() -> ticks++);
+    }
+
+    @Test
+    public void firstAdvanceRunsNoTicks() {
+        assertEquals(0f, timestep.advance(1_000_000L), 0f);
+        assertEquals(0, ticks);
+    }
+
+    @Test
+    public void runsOneTickPerTickOfElapsedTime() {
+        timestep.advance(0);
+        timestep.advance(3 * FixedTimestep.TICK_NANOS);
+        assertEquals(3, ticks);
+    }
+
+    @Test
+    public void leftoverTimeBecomesAlphaAndCarriesOver() {
+        timestep.advance(0);
+        float alpha = timestep.advance(FixedTimestep.TICK_NANOS + FixedTimestep.TICK_NANOS / 2);
+        assertEquals(1, ticks);
+        assertEquals(0.5f, alpha, 0.001f);
+        assertEquals(alpha, timestep.getAlpha(), 0f);
+        timestep.advance(2 * FixedTimestep.TICK_NANOS);
+        assertEquals(2, ticks);
+    }
+
+    @Test
+    public void catchingUpIsCappedAndTheRestIsDropped() {
+        timestep.advance(0);
+        timestep.advance(100 * FixedTimestep.TICK_NANOS + 10);
+        assertEquals(FixedTimestep.MAX_TICKS_PER_ADVANCE, ticks);
+        timestep.advance(100 * FixedTimestep.TICK_NANOS + 20);
+        assertEquals(FixedTimestep.MAX_TICKS_PER_ADVANCE, ticks);
+    }
+
+    @Test
+    public void resetForgetsElapsedTime() {
+        timestep.advance(0);
+        timestep.reset();
+        timestep.advance(50 * FixedTimestep.TICK_NANOS);
+        assertEquals(0, ticks);
+        assertEquals(0f, timestep.getAlpha(), 0f);
+    }
+}
@@ -0,0 +1,67 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FlowFieldTest {
+
+    private static final int WIDTH = 1920, HEIGHT = 1080;
+
+    @Test
+    public void everyCellOfAnOpenRoomHeadsTowardsTheTarget() {
+        TileMap tiles = new TileMap(WIDTH, HEIGHT);
+        FlowField field = new FlowField(tiles);
+        float targetX = 500, targetY = 300;
+        field.update(targetX, targetY);
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                float x = (column + 0.5f) * FlowField.CELL_SIZE, y = (row + 0.5f) * FlowField.CELL_SIZE;
+                int cell = field.cellOf(x, y);
+                if (field.isNearTarget(cell)) { continue; }
+                float towardsX = targetX - x, towardsY = targetY - y;
+                assertTrue(field.getDirectionX(cell) * towardsX + field.getDirectionY(cell) * towardsY > 0);
+            }
+        }
+    }
+
+    @Test
+    public void followingTheFieldReachesTheTargetWithoutEnteringObstacles() {
+        for (long seed = 0; seed < 20; seed++) {
+            TileMap tiles = TileMap.generate(WIDTH, HEIGHT, 4, new Random(seed));
+            FlowField field = new FlowField(tiles);
+            float targetX = WIDTH / 2f, targetY = HEIGHT / 2f;
+            field.update(targetX, targetY);
+            for (int row = 0; row < tiles.getRows(); row++) {
+                for (int column = 0; column < tiles.getColumns(); column++) {
+                    if (tiles.isBlocked(column, row)) { continue; }
+                    int cell = row * tiles.getColumns() + column;
+                    for (int step = 0; step < tiles.getColumns() * tiles.getRows() && !field.isNearTarget(cell); step++) {
+                        float x = (cell % tiles.getColumns() + 0.5f) * FlowField.CELL_SIZE;
+                        float y = (cell / tiles.getColumns() + 0.5f) * FlowField.CELL_SIZE;
+                        cell = field.cellOf(x + Math.round(field.getDirectionX(cell)) * FlowField.CELL_SIZE,
+                            y + Math.round(field.getDirectionY(cell)) * FlowField.CELL_SIZE);
+                        assertFalse(tiles.isBlocked(cell % tiles.getColumns(), cell / tiles.getColumns()));
+                    }
+                    assertTrue(field.isNearTarget(cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void theFieldOnlyChangesWhenTheTargetChangesCell() {
+        FlowField field = new FlowField(new TileMap(WIDTH, HEIGHT));
+        field.update(100, 100);
+        int cell = field.cellOf(1000, 1000);
+        float before = field.getDirectionX(cell);
+        field.update(101, 101);
+        assertEquals(before, field.getDirectionX(cell), 0f);
+        field.update(1800, 100);
+        assertTrue(field.getDirectionX(cell) > 0);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameTest {
+
+    private Game game;
+
+    @Before
+    public void setUp() {
+        game = new Game(1);
+        game.startGame(1920, 1080, 5, 1);
+    }
+
+    @Test
+    public void everyTapFiresStraightAway() {
+        for (int i = 0; i < 3; i++) {
+            game.pointerDown(0, 100, 100);
+            game.pointerUp(0);
+        }
+        assertEquals(3, game.getPlayerBullets().size());
+    }
+
+    @Test
+    public void aHeldPointerFiresAtTheWeaponsRate() {
+        int interval = game.getPlayer().getWeapon().getFireInterval();
+        game.pointerDown(0, 100, 100);
+        for (int i = 1; i < interval; i++) { game.update(); }
+        assertEquals(1, game.getPlayerBullets().size());
+        game.update();
+        assertEquals(2, game.getPlayerBullets().size());
+    }
+
+    @Test
+    public void aSeededGameWithoutObstaclesPlaysInTheSameOpenRoom() {
+        RoomSettings open = RoomSettings.ADVENTURE.withObstacles(0);
+        Game first = new Game(9), second = new Game(9);
+        first.startGame(1920, 1080, 5, 1, GameMode.ADVENTURE, open);
+        second.startGame(1920, 1080, 5, 1, GameMode.ADVENTURE, open);
+        assertEquals(0, first.getCurrentRoom().getTiles().getNumBlocked());
+        assertEquals(first.getEnemies().size(), second.getEnemies().size());
+        for (int i = 0; i < first.getEnemies().size(); i++) {
+            assertEquals(first.getEnemies().get(i).getLocation().x, second.getEnemies().get(i).getLocation().x, 0f);
+            assertEquals(first.getEnemies().get(i).getLocation().y, second.getEnemies().get(i).getLocation().y, 0f);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void aGameWithOtherSettingsCantBeRecorded() {
+        Game recorded = new Game(9);
+        recorded.setRecorder(new InputRecorder(new ByteArrayOutputStream()));
+        recorded.startGame(1920, 1080, 5, 1, GameMode.ADVENTURE, RoomSettings.ADVENTURE.withObstacles(0));
+    }
+}
@@ -0,0 +1,147 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InputReplayerTest {
+
+    /**
+     * Play a game with random input while recording it
+     * @param seed the seed of the game and of its input
+     * @param mode how the game is played
+     * @param out where the recording is written
+     * @return the game once it is over or has run for a while
+     */
+    static Game playRecorded(long seed, GameMode mode, ByteArrayOutputStream out) throws IOException {
+        Game game = new Game(seed);
+        InputRecorder recorder = new InputRecorder(out);
+        game.setRecorder(recorder);
+        game.startGame(1920, 1080, 50, 1, mode);
+        Random random = new Random(seed);
+        for (int i = 0; i < 3000 && !game.isGameOver(); i++) {
+            if (random.nextInt(5) == 0 && game.getEnemies().size() > 0) {
+                Vector2 enemy = game.getEnemies().get(0).getLocation();
+                int pointer = random.nextInt(2);
+                switch (random.nextInt(3)) {
+                    case 0: game.pointerDown(pointer, enemy.x, enemy.y); break;
+                    case 1: game.pointerMoved(pointer, enemy.x, enemy.y); break;
+                    default: game.pointerUp(pointer); break;
+                }
+            }
+            if (random.nextInt(30) == 0) { game.setMovementDirection(random.nextDouble() * 2 * Math.PI); }
+            game.update();
+        }
+        recorder.close(game.getTick());
+        return game;
+    }
+
+    /**
+     * Play a game while recording it, shooting the first enemy and heading for the nearest side of
+     * the room, so once a room is cleared the player walks out of it. This goes through rooms being
+     * warmed up and swapped in.
+     * @param seed the seed of the game
+     * @param out where the recording is written
+     * @return the game once it is over or has run for a while
+     */
+    static Game playThroughRooms(long seed, ByteArrayOutputStream out) throws IOException {
+        Game game = new Game(seed);
+        InputRecorder recorder = new InputRecorder(out);
+        game.setRecorder(recorder);
+        game.startGame(1920, 1080, 1000, 1, GameMode.ADVENTURE);
+        boolean holding = false;
+        for (int i = 0; i < 20000 && !game.isGameOver(); i++) {
+            List<Enemy> enemies = game.getEnemies();
+            if (enemies.isEmpty()) {
+                if (holding) { game.pointerUp(0); }
+                holding = false;
+            } else {
+                Vector2 enemy = enemies.get(0).getLocation();
+                if (holding) { game.pointerMoved(0, enemy.x, enemy.y); } else { game.pointerDown(0, enemy.x, enemy.y); }
+                holding = true;
+            }
+            game.setMovementDirection(game.getPlayer().getLocation().x < 960 ? Math.PI : 0);
+            game.update();
+        }
+        recorder.close(game.getTick());
+        return game;
+    }
+
+    /** Check that a replay ended the same way as the recorded game */
+    static void assertSameGame(Game expected, Game actual) {
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getPlayer().getLocation().x, actual.getPlayer().getLocation().x, 0f);
+        assertEquals(expected.getPlayer().getLocation().y, actual.getPlayer().getLocation().y, 0f);
+        assertEquals(expected.getPlayer().getHealth(), actual.getPlayer().getHealth());
+        assertEquals(expected.getCurrentCollectedCoins(), actual.getCurrentCollectedCoins());
+        assertEquals(expected.getRoomIndex(), actual.getRoomIndex());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.hasPlayerWon(), actual.hasPlayerWon());
+    }
+
+    @Test
+    public void replayingARecordingGivesTheSameGame() throws IOException {
+        for (long seed = 0; seed < 5; seed++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Game recorded = playRecorded(seed, GameMode.ADVENTURE, out);
+            Game replayed = new InputReplayer(new ByteArrayInputStream(out.toByteArray())).replay();
+            assertSameGame(recorded, replayed);
+        }
+    }
+
+    @Test
+    public void replayingAGameThroughSeveralRoomsGivesTheSameGame() throws IOException {
+        int deepestRoom = 0;
+        for (long seed = 0; seed < 3; seed++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Game recorded = playThroughRooms(seed, out);
+            deepestRoom = Math.max(deepestRoom, recorded.getRoomIndex());
+            Game replayed = new InputReplayer(new ByteArrayInputStream(out.toByteArray())).replay();
+            assertSameGame(recorded, replayed);
+        }
+        assertTrue(deepestRoom > 1);
+    }
+
+    @Test
+    public void replayingAnEndlessGameGivesTheSameGame() throws IOException {
+        for (long seed = 0; seed < 3; seed++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Game recorded = playRecorded(seed, GameMode.ENDLESS, out);
+            Game replayed = new InputReplayer(new ByteArrayInputStream(out.toByteArray())).replay();
+            assertSameGame(recorded, replayed);
+        }
+    }
+
+    @Test
+    public void aRecordingCutOffPartWayReplaysUpToItsLastEvent() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        playRecorded(7, GameMode.ADVENTURE, out);
+        byte[] bytes = out.toByteArray();
+        byte[] cut = java.util.Arrays.copyOf(bytes, bytes.length / 2);
+        Game replayed = new InputReplayer(new ByteArrayInputStream(cut)).replay();
+        assertEquals(false, replayed.hasNotStarted());
+    }
+
+    @Test(expected = IOException.class)
+    public void aStreamThatIsNotAReplayIsRejected() throws IOException {
+        new InputReplayer(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+
+    @Test(expected = IOException.class)
+    public void anEventTypeThatIsNoLongerRecordedIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputRecorder recorder = new InputRecorder(out);
+        recorder.recordStart(7, 1080, 1920, 1, 1, GameMode.ADVENTURE);
+        recorder.close(0);
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length - 2] = 1; // a single tap, replaced by pointer events before version 4
+        new InputReplayer(new ByteArrayInputStream(bytes)).replay();
+    }
+}
@@ -0,0 +1,60 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RoomGeneratorTest {
+
+    @Test
+    public void aRoomComesOutTheSameOnAnyThread() throws ExecutionException, InterruptedException {
+        RoomGenerator generator = new RoomGenerator(3, 1920, 1080, 1, GameMode.ADVENTURE);
+        for (int index = 0; index < 4; index++) {
+            List<Enemy> expected = generator.generate(index, false).getEnemies();
+            List<Enemy> actual = generator.generateInBackground(index, false).get().getEnemies();
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getLocation().x, actual.get(i).getLocation().x, 0f);
+                assertEquals(expected.get(i).getLocation().y, actual.get(i).getLocation().y, 0f);
+                assertEquals(expected.get(i).getHealth(), actual.get(i).getHealth());
+            }
+        }
+    }
+
+    @Test
+    public void warmingUpARoomMakesRoomForTheBullets() throws ExecutionException, InterruptedException {
+        RoomGenerator generator = new RoomGenerator(3, 1920, 1080, 1, GameMode.ADVENTURE);
+        Room room = generator.warmUpInBackground(generator.generateInBackground(1, false), 700, 1500).get();
+        assertTrue(room.getPlayerBullets().capacity() >= 700);
+        assertTrue(room.getEnemyBullets().capacity() >= 1500);
+        assertEquals(0, room.getPlayerBullets().size());
+        assertEquals(0, room.getEnemyBullets().size());
+    }
+
+    @Test
+    public void everyTenthRoomIsABossRoomInEndlessMode() {
+        for (int index : new int[] { 9, 19, 99 }) { assertTrue(RoomGenerator.isEndlessBoss(index)); }
+        for (int index : new int[] { 0, 8, 10, 18, 20 }) { assertFalse(RoomGenerator.isEndlessBoss(index)); }
+    }
+
+    @Test
+    public void enemiesGetStrongerAfterEveryBossInEndlessMode() {
+        RoomGenerator endless = new RoomGenerator(3, 1920, 1080, 2, GameMode.ENDLESS);
+        RoomGenerator adventure = new RoomGenerator(3, 1920, 1080, 2, GameMode.ADVENTURE);
+        int[] expectedHealth = { 200, 200, 400, 600 };
+        int[] indices = { 0, 9, 10, 20 };
+        for (int i = 0; i < indices.length; i++) {
+            for (Enemy enemy : endless.generate(indices[i], false).getEnemies()) {
+                assertEquals(expectedHealth[i], enemy.getHealth());
+            }
+            for (Enemy enemy : adventure.generate(indices[i], false).getEnemies()) {
+                assertEquals(200, enemy.getHealth());
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RoomTest {
+
+    private static final int WIDTH = 1920, HEIGHT = 1080;
+
+    private static Player player() { return new Player(new Vector2(WIDTH / 2f, HEIGHT / 2f), new Weapon(5), 100); }
+
+    /**
+     * Find a blocked tile with at least four open tiles to its left
+     * @param tiles the tiles to look through
+     * @return the column and row of the tile
+     */
+    private static int[] blockedTileOpenOnTheLeft(TileMap tiles) {
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 4; column < tiles.getColumns(); column++) {
+                if (tiles.isBlocked(column, row) && !tiles.isBlocked(column - 1, row) && !tiles.isBlocked(column - 2, row)
+                        && !tiles.isBlocked(column - 3, row) && !tiles.isBlocked(column - 4, row)) {
+                    return new int[] { column, row };
+                }
+            }
+        }
+        throw new AssertionError("No blocked tile with open tiles to its left");
+    }
+
+    @Test
+    public void enemiesCanBeClearedAndAddedBetweenTicks() {
+        Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(4));
+        Player player = player();
+        Random random = new Random(5);
+        for (int tick = 0; tick < 50; tick++) {
+            room.getEnemies().clear();
+            int count = random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                float radius = random.nextInt(10) == 0 ? Room.BOSS_RADIUS : Room.ENEMY_RADIUS;
+                room.addEnemy(new Enemy(new Vector2(random.nextInt(WIDTH), random.nextInt(HEIGHT)), new Weapon(5), 10, radius, 1));
+            }
+            room.moveEnemies(player);
+            room.movePlayerBullets();
+            assertEquals(count, room.getNumEnemies());
+        }
+    }
+
+    @Test
+    public void enemiesOnTopOfEachOtherSpreadOut() {
+        Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(4));
+        room.getEnemies().clear();
+        Player player = new Player(new Vector2(100, 100), new Weapon(5), 100);
+        for (int i = 0; i < 2; i++) {
+            room.addEnemy(new Enemy(new Vector2(1500 + i, 800), new Weapon(5), 10, Room.ENEMY_RADIUS, 1));
+        }
+        float before = room.getEnemies().get(1).getLocation().x - room.getEnemies().get(0).getLocation().x;
+        for (int tick = 0; tick < 20; tick++) { room.moveEnemies(player); }
+        Vector2 first = room.getEnemies().get(0).getLocation(), second = room.getEnemies().get(1).getLocation();
+        float dx = second.x - first.x, dy = second.y - first.y;
+        assertTrue(Math.sqrt(dx*dx + dy*dy) > before);
+    }
+
+    @Test
+    public void enemiesStartOutsideOfObstacles() {
+        for (long seed = 0; seed < 50; seed++) {
+            Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(seed), RoomSettings.BULLET_HELL);
+            for (Enemy enemy : room.getEnemies()) {
+                Vector2 location = enemy.getLocation();
+                assertFalse(room.getTiles().overlapsCircle(location.x, location.y, enemy.getRadius()));
+            }
+        }
+    }
+
+    @Test
+    public void enemiesFindTheirWayAroundObstaclesToThePlayer() {
+        for (long seed = 0; seed < 10; seed++) {
+            Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(seed), RoomSettings.BULLET_HELL);
+            Player player = new Player(new Vector2(35, HEIGHT / 2f), new Weapon(5), 100);
+            for (int tick = 0; tick < 3000 && !room.playerIntersectsEnemy(player); tick++) {
+                room.moveEnemies(player);
+                room.movePlayerBullets();
+            }
+            assertTrue(room.playerIntersectsEnemy(player));
+        }
+    }
+
+    @Test
+    public void aBulletHitsAnEnemyInFrontOfAnObstacleInTheSameTick() {
+        Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(1), RoomSettings.BULLET_HELL);
+        room.getEnemies().clear();
+        int[] tile = blockedTileOpenOnTheLeft(room.getTiles());
+        float face = tile[0] * TileMap.TILE_SIZE, y = (tile[1] + 0.5f) * TileMap.TILE_SIZE;
+        room.addEnemy(new Enemy(new Vector2(face - Room.ENEMY_RADIUS - 10, y), new Weapon(5), 10, Room.ENEMY_RADIUS, 1));
+        room.addEnemy(new Enemy(new Vector2(face + TileMap.TILE_SIZE + Room.ENEMY_RADIUS + 10, y), new Weapon(5), 10, Room.ENEMY_RADIUS, 1));
+        room.getPlayerBullets().spawn(face - 200, y, 320, 0, 4, BulletStore.UNLIMITED_LIFETIME, 1);
+        room.movePlayerBullets();
+        assertEquals(6, room.getEnemies().get(0).getHealth());
+        assertEquals(10, room.getEnemies().get(1).getHealth());
+        assertEquals(0, room.getPlayerBullets().size());
+    }
+
+    @Test
+    public void aBulletHitsThePlayerInFrontOfAnObstacleInTheSameTick() {
+        Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(1), RoomSettings.BULLET_HELL);
+        int[] tile = blockedTileOpenOnTheLeft(room.getTiles());
+        float face = tile[0] * TileMap.TILE_SIZE, y = (tile[1] + 0.5f) * TileMap.TILE_SIZE;
+        Player player = new Player(new Vector2(face - Player.BODY_PIECE_SIZE_DP - 10, y), new Weapon(5), 100);
+        room.getEnemyBullets().spawn(face - 200, y, 240, 0, 4);
+        room.moveEnemyBullets(player);
+        assertEquals(96, player.getHealth());
+        assertEquals(0, room.getEnemyBullets().size());
+    }
+
+    @Test
+    public void aPiercingBulletHitsEveryEnemyAlongItsPathInOneTick() {
+        Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(1), RoomSettings.ADVENTURE.withObstacles(0));
+        room.getEnemies().clear();
+        for (int i = 0; i < 3; i++) {
+            room.addEnemy(new Enemy(new Vector2(500 + 100 * i, 300), new Weapon(5), 10, Room.ENEMY_RADIUS, 1));
+        }
+        room.getPlayerBullets().spawn(300, 300, 500, 0, 4, BulletStore.UNLIMITED_LIFETIME, 1);
+        room.movePlayerBullets();
+        assertEquals(6, room.getEnemies().get(0).getHealth());
+        assertEquals(6, room.getEnemies().get(1).getHealth());
+        assertEquals(10, room.getEnemies().get(2).getHealth());
+        assertEquals(0, room.getPlayerBullets().size());
+    }
+
+    @Test
+    public void aPiercingBulletNeverHitsTheSameEnemyTwice() {
+        Room room = new Room(false, WIDTH, HEIGHT, 1, new Random(1), RoomSettings.ADVENTURE.withObstacles(0));
+        room.getEnemies().clear();
+        room.addEnemy(new Enemy(new Vector2(500, 300), new Weapon(5), 100, Room.BOSS_RADIUS, 1));
+        room.addEnemy(new Enemy(new Vector2(560, 300), new Weapon(5), 100, Room.ENEMY_RADIUS, 1));
+        room.getPlayerBullets().spawn(380, 300, 10, 0, 4, BulletStore.UNLIMITED_LIFETIME, 2);
+        for (int tick = 0; tick < 40; tick++) { room.movePlayerBullets(); }
+        assertEquals(96, room.getEnemies().get(0).getHealth());
+        assertEquals(96, room.getEnemies().get(1).getHealth());
+    }
+}
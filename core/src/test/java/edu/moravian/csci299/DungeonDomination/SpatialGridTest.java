@@ -0,0 +1,109 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpatialGridTest {
+
+    private static final int WIDTH = 1920, HEIGHT = 1080;
+
+    /** Make characters of two sizes at random, some of them outside of the room */
+    private static List<Character> randomCharacters(Random random, int count) {
+        List<Character> characters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float radius = random.nextBoolean() ? Room.ENEMY_RADIUS : Room.BOSS_RADIUS;
+            Vector2 location = new Vector2(random.nextInt(WIDTH + 200) - 100, random.nextInt(HEIGHT + 200) - 100);
+            characters.add(new Character(location, new Weapon(1), 100, radius, 0, 0));
+        }
+        return characters;
+    }
+
+    @Test
+    public void findFirstWithinMatchesCheckingEveryCharacter() {
+        Random random = new Random(1);
+        List<Character> characters = randomCharacters(random, 200);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, Room.BOSS_RADIUS);
+        grid.build(characters);
+        for (int query = 0; query < 2000; query++) {
+            float x = random.nextInt(WIDTH), y = random.nextInt(HEIGHT);
+            int expected = -1;
+            for (int i = 0; i < characters.size() && expected < 0; i++) {
+                Character character = characters.get(i);
+                if (Util.withinRange(character.getLocation(), x, y, BulletStore.RADIUS + character.getRadius())) {
+                    expected = i;
+                }
+            }
+            assertEquals(expected, grid.findFirstWithin(x, y, BulletStore.RADIUS, characters));
+        }
+    }
+
+    @Test
+    public void findFirstAlongMatchesCheckingEveryCharacter() {
+        Random random = new Random(2);
+        List<Character> characters = randomCharacters(random, 200);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, Room.BOSS_RADIUS);
+        grid.build(characters);
+        for (int query = 0; query < 2000; query++) {
+            float x0 = random.nextInt(WIDTH), y0 = random.nextInt(HEIGHT);
+            float x1 = x0 + random.nextInt(121) - 60, y1 = y0 + random.nextInt(121) - 60;
+            int expected = -1;
+            float expectedTime = Float.MAX_VALUE;
+            for (int i = 0; i < characters.size(); i++) {
+                Character character = characters.get(i);
+                float time = Util.timeOfImpact(x0, y0, x1 - x0, y1 - y0, character.getLocation(),
+                    BulletStore.RADIUS + character.getRadius());
+                if (time >= 0 && time < expectedTime) {
+                    expected = i;
+                    expectedTime = time;
+                }
+            }
+            assertEquals(expected, grid.findFirstAlong(x0, y0, x1, y1, BulletStore.RADIUS, characters));
+        }
+    }
+
+    @Test
+    public void findFirstAlongSkipsTheGivenIds() {
+        List<Character> characters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Character character = new Character(new Vector2(300 + 200 * i, 500), new Weapon(1), 100, Room.ENEMY_RADIUS, 0, 0);
+            character.setId(i);
+            characters.add(character);
+        }
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, Room.ENEMY_RADIUS);
+        grid.build(characters);
+        int[] skipIds = { 1, 0 };
+        assertEquals(0, grid.findFirstAlong(100, 500, 900, 500, BulletStore.RADIUS, characters));
+        assertEquals(0, grid.findFirstAlong(100, 500, 900, 500, BulletStore.RADIUS, characters, skipIds, 1));
+        assertEquals(2, grid.findFirstAlong(100, 500, 900, 500, BulletStore.RADIUS, characters, skipIds, 2));
+    }
+
+    @Test
+    public void findAllWithinMatchesCheckingEveryCharacter() {
+        Random random = new Random(3);
+        List<Character> characters = randomCharacters(random, 200);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, Room.BOSS_RADIUS);
+        grid.build(characters);
+        int[] found = new int[characters.size()];
+        for (int query = 0; query < 500; query++) {
+            float x = random.nextInt(WIDTH), y = random.nextInt(HEIGHT);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < characters.size(); i++) {
+                Character character = characters.get(i);
+                if (Util.withinRange(character.getLocation(), x, y, Room.ENEMY_RADIUS + character.getRadius())) {
+                    expected.add(i);
+                }
+            }
+            int count = grid.findAllWithin(x, y, Room.ENEMY_RADIUS, characters, found);
+            List<Integer> actual = new ArrayList<>();
+            for (int k = 0; k < count; k++) { actual.add(found[k]); }
+            Collections.sort(actual);
+            assertEquals(expected, actual);
+        }
+    }
+}
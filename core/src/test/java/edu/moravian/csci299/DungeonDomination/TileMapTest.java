@@ -0,0 +1,106 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TileMapTest {
+
+    private static final int WIDTH = 1920, HEIGHT = 1080;
+
+    /** Make a map with a few obstacles */
+    private static TileMap mapWithObstacles() { return TileMap.generate(WIDTH, HEIGHT, 4, new Random(1)); }
+
+    @Test
+    public void obstaclesAreAddedAwayFromTheEdgesOfTheRoom() {
+        for (long seed = 0; seed < 20; seed++) {
+            TileMap tiles = TileMap.generate(WIDTH, HEIGHT, 4, new Random(seed));
+            assertTrue(tiles.getNumBlocked() > 0);
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                assertFalse(tiles.isBlocked(column, 0));
+                assertFalse(tiles.isBlocked(column, tiles.getRows() - 1));
+            }
+            for (int row = 0; row < tiles.getRows(); row++) {
+                assertFalse(tiles.isBlocked(0, row));
+                assertFalse(tiles.isBlocked(tiles.getColumns() - 1, row));
+            }
+        }
+    }
+
+    @Test
+    public void aCircleOverlapsTheBlockedTilesItTouches() {
+        TileMap tiles = mapWithObstacles();
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                if (!tiles.isBlocked(column, row) || tiles.isBlocked(column - 1, row)) { continue; }
+                float x = column * TileMap.TILE_SIZE, y = (row + 0.5f) * TileMap.TILE_SIZE;
+                assertTrue(tiles.overlapsCircle(x - BulletStore.RADIUS + 1, y, BulletStore.RADIUS));
+                assertFalse(tiles.overlapsCircle(x - BulletStore.RADIUS - 1, y, BulletStore.RADIUS));
+            }
+        }
+    }
+
+    @Test
+    public void anOpenMapHasNoObstacles() {
+        TileMap tiles = new TileMap(WIDTH, HEIGHT);
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                assertFalse(tiles.isBlocked(column, row));
+            }
+        }
+        assertFalse(tiles.overlapsCircle(WIDTH / 2f, HEIGHT / 2f, Room.BOSS_RADIUS));
+    }
+
+    @Test
+    public void aPathThroughATileIsBlockedEvenIfBothEndsAreOpen() {
+        TileMap tiles = mapWithObstacles();
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                if (!tiles.isBlocked(column, row)) { continue; }
+                float y = (row + 0.5f) * TileMap.TILE_SIZE;
+                float x0 = (column - 3) * TileMap.TILE_SIZE, x1 = (column + 4) * TileMap.TILE_SIZE;
+                assertTrue(tiles.overlapsPath(x0, y, x1, y, BulletStore.RADIUS));
+            }
+        }
+    }
+
+    @Test
+    public void aPathClippingTheCornerOfATileIsBlocked() {
+        TileMap tiles = mapWithObstacles();
+        for (int row = 0; row < tiles.getRows(); row++) {
+            for (int column = 0; column < tiles.getColumns(); column++) {
+                if (!tiles.isBlocked(column, row) || tiles.isBlocked(column - 1, row - 1)
+                        || tiles.isBlocked(column - 1, row) || tiles.isBlocked(column, row - 1)) { continue; }
+                // a diagonal line passing just outside the top left corner of the tile
+                float cornerX = column * TileMap.TILE_SIZE, cornerY = row * TileMap.TILE_SIZE;
+                float offset = BulletStore.RADIUS / 2;
+                float x0 = cornerX - 100 - offset, y0 = cornerY + 100 - offset;
+                float x1 = cornerX + 100 - offset, y1 = cornerY - 100 - offset;
+                assertFalse(tiles.overlapsCircle(x0, y0, BulletStore.RADIUS) || tiles.overlapsCircle(x1, y1, BulletStore.RADIUS));
+                assertTrue(tiles.overlapsPath(x0, y0, x1, y1, BulletStore.RADIUS));
+            }
+        }
+    }
+
+    @Test
+    public void aPathThroughOpenTilesIsNotBlocked() {
+        TileMap tiles = mapWithObstacles();
+        assertFalse(tiles.overlapsPath(0, 30, WIDTH, 30, BulletStore.RADIUS)); // the edges of the room are kept open
+        assertFalse(new TileMap(WIDTH, HEIGHT).overlapsPath(0, 0, WIDTH, HEIGHT, BulletStore.RADIUS));
+    }
+
+    @Test
+    public void randomOpenTilesAreOpen() {
+        Random random = new Random(2);
+        for (long seed = 0; seed < 20; seed++) {
+            TileMap tiles = TileMap.generate(WIDTH, HEIGHT, 6, new Random(seed));
+            for (int i = 0; i < 200; i++) {
+                int tile = tiles.randomOpenTile(random);
+                assertFalse(tiles.isBlocked(tile % tiles.getColumns(), tile / tiles.getColumns()));
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TiltInputTest {
+
+    @Test
+    public void nothingChangesBeforeTheFirstReading() {
+        TiltInput tilt = new TiltInput();
+        assertFalse(tilt.update());
+        assertTrue(Double.isNaN(tilt.getAngle()));
+    }
+
+    @Test
+    public void theFirstReadingSetsTheDirection() {
+        TiltInput tilt = new TiltInput();
+        tilt.offer(0, 5);
+        assertTrue(tilt.update());
+        assertEquals(Math.PI / 2, tilt.getAngle(), 0.0001);
+    }
+
+    @Test
+    public void onlyTheLatestReadingIsUsed() {
+        TiltInput tilt = new TiltInput();
+        tilt.offer(5, 0);
+        tilt.offer(-5, 0);
+        assertTrue(tilt.update());
+        assertEquals(Math.PI, tilt.getAngle(), 0.0001);
+    }
+
+    @Test
+    public void aTiltNearLevelIsIgnored() {
+        TiltInput tilt = new TiltInput();
+        tilt.offer(0.2f, -0.2f);
+        assertFalse(tilt.update());
+        assertTrue(Double.isNaN(tilt.getAngle()));
+    }
+
+    @Test
+    public void readingsAreFilteredTowardTheLatest() {
+        TiltInput tilt = new TiltInput();
+        tilt.offer(4, 0);
+        tilt.update();
+        tilt.offer(0, 4);
+        assertTrue(tilt.update());
+        assertEquals(Math.atan2(1, 3), tilt.getAngle(), 0.0001);
+    }
+
+    @Test
+    public void aTinyTurnDoesNotChangeTheDirection() {
+        TiltInput tilt = new TiltInput();
+        tilt.offer(5, 0);
+        tilt.update();
+        tilt.offer(5, 0.1f);
+        assertFalse(tilt.update());
+        assertEquals(0, tilt.getAngle(), 0);
+    }
+}
@@ -0,0 +1,41 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class UtilTest {
+
+    private static final double RANGE = 30;
+
+    @Test
+    public void aFastCircleThatPassesThroughIsHitPartWay() {
+        assertEquals(0.47f, Util.timeOfImpact(0, 0, 1000, 0, new Vector2(500, 0), RANGE), 0.0001f);
+    }
+
+    @Test
+    public void aCircleBesideThePathIsNotHit() {
+        assertEquals(-1f, Util.timeOfImpact(0, 0, 1000, 0, new Vector2(500, 100), RANGE), 0f);
+    }
+
+    @Test
+    public void aCircleBeyondTheEndOfThePathIsNotHit() {
+        assertEquals(-1f, Util.timeOfImpact(0, 0, 1000, 0, new Vector2(1100, 0), RANGE), 0f);
+    }
+
+    @Test
+    public void aCircleBehindTheStartIsNotHit() {
+        assertEquals(-1f, Util.timeOfImpact(0, 0, 1000, 0, new Vector2(-100, 0), RANGE), 0f);
+    }
+
+    @Test
+    public void touchingAtTheStartIsAHitAtTimeZero() {
+        assertEquals(0f, Util.timeOfImpact(0, 0, 1000, 0, new Vector2(20, 0), RANGE), 0f);
+        assertEquals(0f, Util.timeOfImpact(0, 0, 0, 0, new Vector2(20, 0), RANGE), 0f);
+    }
+
+    @Test
+    public void aStillCircleApartIsNotHit() {
+        assertEquals(-1f, Util.timeOfImpact(0, 0, 0, 0, new Vector2(500, 0), RANGE), 0f);
+    }
+}
@@ -0,0 +1,32 @@
+package edu.moravian.csci299.DungeonDomination;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class WeaponsTest {
+
+    @Test
+    public void theTableIsReadWithTheGivenDamage() {
+        Weapon spread = Weapons.get(Weapons.SPREAD, 7);
+        assertEquals(7, spread.getDamage());
+        assertEquals(8, spread.getFireInterval());
+        assertEquals(3, spread.getProjectiles());
+        assertEquals(Math.toRadians(24), spread.getSpread(), 1e-9);
+        assertEquals(40, spread.getLifetime());
+        assertEquals(Weapon.UNLIMITED_LIFETIME, Weapons.get(Weapons.PISTOL, 7).getLifetime());
+        assertEquals(2, Weapons.get(Weapons.RIFLE, 7).getPierce());
+    }
+
+    @Test
+    public void eachModeStartsWithItsWeapon() {
+        assertEquals(1, Weapons.forMode(GameMode.ADVENTURE, 5).getProjectiles());
+        assertEquals(2, Weapons.forMode(GameMode.ENDLESS, 5).getPierce());
+        assertEquals(3, Weapons.forMode(GameMode.BULLET_HELL, 5).getProjectiles());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anUnknownWeaponIsRejected() {
+        Weapons.get("slingshot", 1);
+    }
+}